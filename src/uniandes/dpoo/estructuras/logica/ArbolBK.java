@@ -0,0 +1,213 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Un índice que permite encontrar las cadenas de un conjunto que son parecidas a una cadena dada, es decir que están a una distancia de edición (Levenshtein) pequeña.
+ *
+ * El índice es un árbol BK: cada hijo de un nodo está guardado bajo su distancia al nodo. Como la distancia de edición cumple la desigualdad triangular, al buscar las
+ * cadenas a distancia máxima k de una consulta que está a distancia d de un nodo sólo hay que visitar los hijos guardados bajo las distancias entre d - k y d + k. Así
+ * una búsqueda con k pequeño sólo calcula la distancia a una fracción pequeña de las cadenas.
+ *
+ * Un árbol BK no permite quitar nodos, así que las cadenas eliminadas sólo se marcan como inactivas. Cuando hay más cadenas inactivas que activas el árbol se vuelve a
+ * construir sólo con las activas.
+ */
+public class ArbolBK implements IndiceCadenas
+{
+    /**
+     * La raíz del árbol, o null si está vacío
+     */
+    private Nodo raiz;
+
+    /**
+     * Los nodos del árbol (activos e inactivos), por su cadena
+     */
+    private final Map<String, Nodo> nodos;
+
+    /**
+     * La cantidad de nodos inactivos
+     */
+    private int inactivos;
+
+    /**
+     * Construye un índice vacío
+     */
+    public ArbolBK( )
+    {
+        nodos = new HashMap<String, Nodo>( );
+    }
+
+    /**
+     * Busca las cadenas del conjunto que están a una distancia de edición máxima de la cadena dada
+     * @param cadena La cadena buscada
+     * @param distanciaMaxima La cantidad máxima de inserciones, eliminaciones o reemplazos de caracteres
+     * @return Las cadenas parecidas, ordenadas lexicográficamente
+     */
+    public List<String> buscar( String cadena, int distanciaMaxima )
+    {
+        List<String> resultado = new ArrayList<String>( );
+        if( raiz == null )
+        {
+            return resultado;
+        }
+        Deque<Nodo> pendientes = new ArrayDeque<Nodo>( );
+        pendientes.push( raiz );
+        while( !pendientes.isEmpty( ) )
+        {
+            Nodo nodo = pendientes.pop( );
+            int distancia = calcularDistancia( cadena, nodo.cadena );
+            if( distancia <= distanciaMaxima && nodo.activo )
+            {
+                resultado.add( nodo.cadena );
+            }
+            for( Map.Entry<Integer, Nodo> hijo : nodo.hijos.entrySet( ) )
+            {
+                if( Math.abs( hijo.getKey( ) - distancia ) <= distanciaMaxima )
+                {
+                    pendientes.push( hijo.getValue( ) );
+                }
+            }
+        }
+        Collections.sort( resultado );
+        return resultado;
+    }
+
+    /**
+     * Calcula la distancia de edición (Levenshtein) entre dos cadenas: la menor cantidad de inserciones, eliminaciones o reemplazos de caracteres que convierten una en la
+     * otra
+     * @param a La primera cadena
+     * @param b La segunda cadena
+     * @return La distancia entre las dos cadenas
+     */
+    public static int calcularDistancia( String a, String b )
+    {
+        int[] anterior = new int[b.length( ) + 1];
+        int[] actual = new int[b.length( ) + 1];
+        for( int j = 0; j <= b.length( ); j++ )
+        {
+            anterior[ j ] = j;
+        }
+        for( int i = 1; i <= a.length( ); i++ )
+        {
+            actual[ 0 ] = i;
+            for( int j = 1; j <= b.length( ); j++ )
+            {
+                int reemplazo = anterior[ j - 1 ] + ( a.charAt( i - 1 ) == b.charAt( j - 1 ) ? 0 : 1 );
+                actual[ j ] = Math.min( reemplazo, Math.min( anterior[ j ], actual[ j - 1 ] ) + 1 );
+            }
+            int[] temporal = anterior;
+            anterior = actual;
+            actual = temporal;
+        }
+        return anterior[ b.length( ) ];
+    }
+
+    @Override
+    public void cadenaAgregada( String cadena )
+    {
+        Nodo existente = nodos.get( cadena );
+        if( existente != null )
+        {
+            if( !existente.activo )
+            {
+                existente.activo = true;
+                inactivos--;
+            }
+            return;
+        }
+        Nodo nuevo = new Nodo( cadena );
+        nodos.put( cadena, nuevo );
+        if( raiz == null )
+        {
+            raiz = nuevo;
+            return;
+        }
+        Nodo nodo = raiz;
+        while( true )
+        {
+            int distancia = calcularDistancia( cadena, nodo.cadena );
+            Nodo hijo = nodo.hijos.get( distancia );
+            if( hijo == null )
+            {
+                nodo.hijos.put( distancia, nuevo );
+                return;
+            }
+            nodo = hijo;
+        }
+    }
+
+    @Override
+    public void cadenaEliminada( String cadena )
+    {
+        Nodo nodo = nodos.get( cadena );
+        if( nodo == null || !nodo.activo )
+        {
+            return;
+        }
+        nodo.activo = false;
+        inactivos++;
+        if( inactivos > nodos.size( ) - inactivos )
+        {
+            reconstruir( );
+        }
+    }
+
+    @Override
+    public void conjuntoVaciado( )
+    {
+        raiz = null;
+        nodos.clear( );
+        inactivos = 0;
+    }
+
+    /**
+     * Vuelve a construir el árbol sólo con las cadenas activas
+     */
+    private void reconstruir( )
+    {
+        List<String> activas = new ArrayList<String>( );
+        for( Nodo nodo : nodos.values( ) )
+        {
+            if( nodo.activo )
+            {
+                activas.add( nodo.cadena );
+            }
+        }
+        conjuntoVaciado( );
+        for( String cadena : activas )
+        {
+            cadenaAgregada( cadena );
+        }
+    }
+
+    /**
+     * Un nodo del árbol
+     */
+    private static final class Nodo
+    {
+        private final String cadena;
+
+        /**
+         * Indica si la cadena todavía está en el conjunto
+         */
+        private boolean activo;
+
+        /**
+         * Los hijos del nodo, por su distancia a este nodo
+         */
+        private final Map<Integer, Nodo> hijos;
+
+        private Nodo( String cadena )
+        {
+            this.cadena = cadena;
+            this.activo = true;
+            this.hijos = new HashMap<Integer, Nodo>( );
+        }
+    }
+}
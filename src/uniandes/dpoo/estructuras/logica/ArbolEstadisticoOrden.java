@@ -0,0 +1,374 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Un conjunto ordenado de cadenas implementado como un árbol AVL en el que cada nodo conoce el tamaño de su subárbol (un árbol de estadísticas de orden).
+ *
+ * Además de las operaciones de un NavigableSet, el tamaño de los subárboles permite saber cuántas cadenas son menores que una cadena dada (getPosicion) y encontrar la
+ * cadena en una posición (getCadena) bajando una sola vez por el árbol, es decir en tiempo logarítmico.
+ */
+public class ArbolEstadisticoOrden extends ConjuntoNavegableAbstracto implements ConjuntoConRango
+{
+    /**
+     * La raíz del árbol, o null si el conjunto está vacío
+     */
+    private Nodo raiz;
+
+    /**
+     * Construye un árbol vacío
+     */
+    public ArbolEstadisticoOrden( )
+    {
+        raiz = null;
+    }
+
+    @Override
+    public int getPosicion( String cadena )
+    {
+        int posicion = 0;
+        Nodo nodo = raiz;
+        while( nodo != null )
+        {
+            if( cadena.compareTo( nodo.valor ) <= 0 )
+            {
+                nodo = nodo.izquierdo;
+            }
+            else
+            {
+                posicion += tamano( nodo.izquierdo ) + 1;
+                nodo = nodo.derecho;
+            }
+        }
+        return posicion;
+    }
+
+    @Override
+    public String getCadena( int posicion )
+    {
+        if( posicion < 0 || posicion >= size( ) )
+        {
+            throw new IndexOutOfBoundsException( "Posición " + posicion + ", tamaño " + size( ) );
+        }
+        Nodo nodo = raiz;
+        while( true )
+        {
+            int izquierda = tamano( nodo.izquierdo );
+            if( posicion < izquierda )
+            {
+                nodo = nodo.izquierdo;
+            }
+            else if( posicion == izquierda )
+            {
+                return nodo.valor;
+            }
+            else
+            {
+                posicion -= izquierda + 1;
+                nodo = nodo.derecho;
+            }
+        }
+    }
+
+    @Override
+    public int size( )
+    {
+        return tamano( raiz );
+    }
+
+    @Override
+    public boolean isEmpty( )
+    {
+        return raiz == null;
+    }
+
+    @Override
+    public boolean contains( Object objeto )
+    {
+        if( !( objeto instanceof String ) )
+        {
+            return false;
+        }
+        String cadena = ( String )objeto;
+        Nodo nodo = raiz;
+        while( nodo != null )
+        {
+            int comparacion = cadena.compareTo( nodo.valor );
+            if( comparacion == 0 )
+            {
+                return true;
+            }
+            nodo = comparacion < 0 ? nodo.izquierdo : nodo.derecho;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean add( String cadena )
+    {
+        if( contains( cadena ) )
+        {
+            return false;
+        }
+        raiz = insertar( raiz, cadena );
+        modificaciones++;
+        return true;
+    }
+
+    @Override
+    public boolean remove( Object objeto )
+    {
+        if( !contains( objeto ) )
+        {
+            return false;
+        }
+        raiz = eliminar( raiz, ( String )objeto );
+        modificaciones++;
+        return true;
+    }
+
+    @Override
+    public void clear( )
+    {
+        if( raiz != null )
+        {
+            raiz = null;
+            modificaciones++;
+        }
+    }
+
+    @Override
+    protected Iterator<String> recorrerAscendente( String desde, boolean inclusivo )
+    {
+        return new Recorrido( true, desde, inclusivo );
+    }
+
+    @Override
+    protected Iterator<String> recorrerDescendente( String desde, boolean inclusivo )
+    {
+        return new Recorrido( false, desde, inclusivo );
+    }
+
+    /**
+     * Inserta una cadena que no está en el subárbol
+     * @return La nueva raíz del subárbol, ya balanceado
+     */
+    private static Nodo insertar( Nodo nodo, String cadena )
+    {
+        if( nodo == null )
+        {
+            return new Nodo( cadena );
+        }
+        if( cadena.compareTo( nodo.valor ) < 0 )
+        {
+            nodo.izquierdo = insertar( nodo.izquierdo, cadena );
+        }
+        else
+        {
+            nodo.derecho = insertar( nodo.derecho, cadena );
+        }
+        return balancear( nodo );
+    }
+
+    /**
+     * Elimina una cadena que está en el subárbol
+     * @return La nueva raíz del subárbol, ya balanceado
+     */
+    private static Nodo eliminar( Nodo nodo, String cadena )
+    {
+        int comparacion = cadena.compareTo( nodo.valor );
+        if( comparacion < 0 )
+        {
+            nodo.izquierdo = eliminar( nodo.izquierdo, cadena );
+            return balancear( nodo );
+        }
+        if( comparacion > 0 )
+        {
+            nodo.derecho = eliminar( nodo.derecho, cadena );
+            return balancear( nodo );
+        }
+        if( nodo.izquierdo == null )
+        {
+            return nodo.derecho;
+        }
+        if( nodo.derecho == null )
+        {
+            return nodo.izquierdo;
+        }
+        // El nodo se reemplaza por el menor de su subárbol derecho
+        Nodo sucesor = nodo.derecho;
+        while( sucesor.izquierdo != null )
+        {
+            sucesor = sucesor.izquierdo;
+        }
+        sucesor.derecho = eliminarMinimo( nodo.derecho );
+        sucesor.izquierdo = nodo.izquierdo;
+        return balancear( sucesor );
+    }
+
+    private static Nodo eliminarMinimo( Nodo nodo )
+    {
+        if( nodo.izquierdo == null )
+        {
+            return nodo.derecho;
+        }
+        nodo.izquierdo = eliminarMinimo( nodo.izquierdo );
+        return balancear( nodo );
+    }
+
+    /**
+     * Actualiza la altura y el tamaño del nodo y lo rota si sus subárboles quedaron desbalanceados
+     * @return La nueva raíz del subárbol
+     */
+    private static Nodo balancear( Nodo nodo )
+    {
+        actualizar( nodo );
+        int balance = altura( nodo.izquierdo ) - altura( nodo.derecho );
+        if( balance > 1 )
+        {
+            if( altura( nodo.izquierdo.izquierdo ) < altura( nodo.izquierdo.derecho ) )
+            {
+                nodo.izquierdo = rotarIzquierda( nodo.izquierdo );
+            }
+            return rotarDerecha( nodo );
+        }
+        if( balance < -1 )
+        {
+            if( altura( nodo.derecho.derecho ) < altura( nodo.derecho.izquierdo ) )
+            {
+                nodo.derecho = rotarDerecha( nodo.derecho );
+            }
+            return rotarIzquierda( nodo );
+        }
+        return nodo;
+    }
+
+    private static Nodo rotarDerecha( Nodo nodo )
+    {
+        Nodo nuevaRaiz = nodo.izquierdo;
+        nodo.izquierdo = nuevaRaiz.derecho;
+        nuevaRaiz.derecho = nodo;
+        actualizar( nodo );
+        actualizar( nuevaRaiz );
+        return nuevaRaiz;
+    }
+
+    private static Nodo rotarIzquierda( Nodo nodo )
+    {
+        Nodo nuevaRaiz = nodo.derecho;
+        nodo.derecho = nuevaRaiz.izquierdo;
+        nuevaRaiz.izquierdo = nodo;
+        actualizar( nodo );
+        actualizar( nuevaRaiz );
+        return nuevaRaiz;
+    }
+
+    private static void actualizar( Nodo nodo )
+    {
+        nodo.altura = Math.max( altura( nodo.izquierdo ), altura( nodo.derecho ) ) + 1;
+        nodo.tamano = tamano( nodo.izquierdo ) + tamano( nodo.derecho ) + 1;
+    }
+
+    private static int altura( Nodo nodo )
+    {
+        return nodo == null ? 0 : nodo.altura;
+    }
+
+    private static int tamano( Nodo nodo )
+    {
+        return nodo == null ? 0 : nodo.tamano;
+    }
+
+    /**
+     * Un recorrido en orden del árbol (o en orden inverso) que guarda en una pila los nodos pendientes del camino actual
+     */
+    private final class Recorrido implements Iterator<String>
+    {
+        private final boolean ascendente;
+
+        private final Deque<Nodo> pila;
+
+        private Recorrido( boolean ascendente, String desde, boolean inclusivo )
+        {
+            this.ascendente = ascendente;
+            this.pila = new ArrayDeque<Nodo>( );
+            Nodo nodo = raiz;
+            while( nodo != null )
+            {
+                if( desde == null || estaDespues( nodo.valor, desde, inclusivo ) )
+                {
+                    pila.push( nodo );
+                    nodo = ascendente ? nodo.izquierdo : nodo.derecho;
+                }
+                else
+                {
+                    nodo = ascendente ? nodo.derecho : nodo.izquierdo;
+                }
+            }
+        }
+
+        /**
+         * Indica si la cadena hace parte del recorrido que empieza en 'desde'
+         */
+        private boolean estaDespues( String cadena, String desde, boolean inclusivo )
+        {
+            int comparacion = ascendente ? cadena.compareTo( desde ) : desde.compareTo( cadena );
+            return comparacion > 0 || ( comparacion == 0 && inclusivo );
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            return !pila.isEmpty( );
+        }
+
+        @Override
+        public String next( )
+        {
+            if( pila.isEmpty( ) )
+            {
+                throw new NoSuchElementException( );
+            }
+            Nodo actual = pila.pop( );
+            Nodo nodo = ascendente ? actual.derecho : actual.izquierdo;
+            while( nodo != null )
+            {
+                pila.push( nodo );
+                nodo = ascendente ? nodo.izquierdo : nodo.derecho;
+            }
+            return actual.valor;
+        }
+    }
+
+    /**
+     * Un nodo del árbol
+     */
+    private static final class Nodo
+    {
+        private final String valor;
+
+        private Nodo izquierdo;
+
+        private Nodo derecho;
+
+        /**
+         * La altura del subárbol que tiene este nodo como raíz
+         */
+        private int altura;
+
+        /**
+         * La cantidad de nodos del subárbol que tiene este nodo como raíz
+         */
+        private int tamano;
+
+        private Nodo( String valor )
+        {
+            this.valor = valor;
+            this.altura = 1;
+            this.tamano = 1;
+        }
+    }
+}
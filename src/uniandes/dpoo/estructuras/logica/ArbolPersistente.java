@@ -0,0 +1,359 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Un conjunto ordenado de cadenas implementado como un árbol AVL persistente: los nodos nunca se modifican.
+ *
+ * Cada vez que se agrega o se elimina una cadena se copian sólo los nodos del camino entre la raíz y el lugar del cambio (O(log n) nodos) y el resto del árbol se comparte
+ * con la versión anterior. Por eso copiar el conjunto (copiar) toma tiempo constante: la copia y el original comparten la misma raíz, y desde ese momento cada uno sigue
+ * cambiando por su lado sin afectar al otro.
+ *
+ * Como cada nodo conoce el tamaño de su subárbol, también permite consultar posiciones en tiempo logarítmico.
+ */
+public class ArbolPersistente extends ConjuntoNavegableAbstracto implements ConjuntoConRango
+{
+    /**
+     * La raíz de la versión actual del árbol, o null si el conjunto está vacío
+     */
+    private Nodo raiz;
+
+    /**
+     * Construye un árbol vacío
+     */
+    public ArbolPersistente( )
+    {
+        this( null );
+    }
+
+    private ArbolPersistente( Nodo raiz )
+    {
+        this.raiz = raiz;
+    }
+
+    /**
+     * Retorna una copia del conjunto en tiempo constante. La copia es independiente: los cambios que se le hagan a cualquiera de los dos no afectan al otro.
+     * @return Una copia del conjunto con las mismas cadenas
+     */
+    public ArbolPersistente copiar( )
+    {
+        return new ArbolPersistente( raiz );
+    }
+
+    @Override
+    public int getPosicion( String cadena )
+    {
+        int posicion = 0;
+        Nodo nodo = raiz;
+        while( nodo != null )
+        {
+            if( cadena.compareTo( nodo.valor ) <= 0 )
+            {
+                nodo = nodo.izquierdo;
+            }
+            else
+            {
+                posicion += tamano( nodo.izquierdo ) + 1;
+                nodo = nodo.derecho;
+            }
+        }
+        return posicion;
+    }
+
+    @Override
+    public String getCadena( int posicion )
+    {
+        if( posicion < 0 || posicion >= size( ) )
+        {
+            throw new IndexOutOfBoundsException( "Posición " + posicion + ", tamaño " + size( ) );
+        }
+        Nodo nodo = raiz;
+        while( true )
+        {
+            int izquierda = tamano( nodo.izquierdo );
+            if( posicion < izquierda )
+            {
+                nodo = nodo.izquierdo;
+            }
+            else if( posicion == izquierda )
+            {
+                return nodo.valor;
+            }
+            else
+            {
+                posicion -= izquierda + 1;
+                nodo = nodo.derecho;
+            }
+        }
+    }
+
+    @Override
+    public int size( )
+    {
+        return tamano( raiz );
+    }
+
+    @Override
+    public boolean isEmpty( )
+    {
+        return raiz == null;
+    }
+
+    @Override
+    public boolean contains( Object objeto )
+    {
+        if( !( objeto instanceof String ) )
+        {
+            return false;
+        }
+        String cadena = ( String )objeto;
+        Nodo nodo = raiz;
+        while( nodo != null )
+        {
+            int comparacion = cadena.compareTo( nodo.valor );
+            if( comparacion == 0 )
+            {
+                return true;
+            }
+            nodo = comparacion < 0 ? nodo.izquierdo : nodo.derecho;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean add( String cadena )
+    {
+        if( contains( cadena ) )
+        {
+            return false;
+        }
+        raiz = insertar( raiz, cadena );
+        modificaciones++;
+        return true;
+    }
+
+    @Override
+    public boolean remove( Object objeto )
+    {
+        if( !contains( objeto ) )
+        {
+            return false;
+        }
+        raiz = eliminar( raiz, ( String )objeto );
+        modificaciones++;
+        return true;
+    }
+
+    @Override
+    public void clear( )
+    {
+        if( raiz != null )
+        {
+            raiz = null;
+            modificaciones++;
+        }
+    }
+
+    @Override
+    protected Iterator<String> recorrerAscendente( String desde, boolean inclusivo )
+    {
+        return new Recorrido( raiz, true, desde, inclusivo );
+    }
+
+    @Override
+    protected Iterator<String> recorrerDescendente( String desde, boolean inclusivo )
+    {
+        return new Recorrido( raiz, false, desde, inclusivo );
+    }
+
+    /**
+     * Inserta una cadena que no está en el subárbol, copiando los nodos del camino
+     * @return La raíz del nuevo subárbol
+     */
+    private static Nodo insertar( Nodo nodo, String cadena )
+    {
+        if( nodo == null )
+        {
+            return new Nodo( cadena, null, null );
+        }
+        if( cadena.compareTo( nodo.valor ) < 0 )
+        {
+            return balancear( nodo.valor, insertar( nodo.izquierdo, cadena ), nodo.derecho );
+        }
+        return balancear( nodo.valor, nodo.izquierdo, insertar( nodo.derecho, cadena ) );
+    }
+
+    /**
+     * Elimina una cadena que está en el subárbol, copiando los nodos del camino
+     * @return La raíz del nuevo subárbol
+     */
+    private static Nodo eliminar( Nodo nodo, String cadena )
+    {
+        int comparacion = cadena.compareTo( nodo.valor );
+        if( comparacion < 0 )
+        {
+            return balancear( nodo.valor, eliminar( nodo.izquierdo, cadena ), nodo.derecho );
+        }
+        if( comparacion > 0 )
+        {
+            return balancear( nodo.valor, nodo.izquierdo, eliminar( nodo.derecho, cadena ) );
+        }
+        if( nodo.izquierdo == null )
+        {
+            return nodo.derecho;
+        }
+        if( nodo.derecho == null )
+        {
+            return nodo.izquierdo;
+        }
+        // El nodo se reemplaza por el menor de su subárbol derecho
+        Nodo sucesor = nodo.derecho;
+        while( sucesor.izquierdo != null )
+        {
+            sucesor = sucesor.izquierdo;
+        }
+        return balancear( sucesor.valor, nodo.izquierdo, eliminarMinimo( nodo.derecho ) );
+    }
+
+    private static Nodo eliminarMinimo( Nodo nodo )
+    {
+        if( nodo.izquierdo == null )
+        {
+            return nodo.derecho;
+        }
+        return balancear( nodo.valor, eliminarMinimo( nodo.izquierdo ), nodo.derecho );
+    }
+
+    /**
+     * Construye un nodo nuevo con el valor y los subárboles dados, rotándolo si los subárboles están desbalanceados
+     * @return La raíz del nuevo subárbol
+     */
+    private static Nodo balancear( String valor, Nodo izquierdo, Nodo derecho )
+    {
+        int balance = altura( izquierdo ) - altura( derecho );
+        if( balance > 1 )
+        {
+            if( altura( izquierdo.izquierdo ) < altura( izquierdo.derecho ) )
+            {
+                izquierdo = rotarIzquierda( izquierdo.valor, izquierdo.izquierdo, izquierdo.derecho );
+            }
+            return rotarDerecha( valor, izquierdo, derecho );
+        }
+        if( balance < -1 )
+        {
+            if( altura( derecho.derecho ) < altura( derecho.izquierdo ) )
+            {
+                derecho = rotarDerecha( derecho.valor, derecho.izquierdo, derecho.derecho );
+            }
+            return rotarIzquierda( valor, izquierdo, derecho );
+        }
+        return new Nodo( valor, izquierdo, derecho );
+    }
+
+    private static Nodo rotarDerecha( String valor, Nodo izquierdo, Nodo derecho )
+    {
+        return new Nodo( izquierdo.valor, izquierdo.izquierdo, new Nodo( valor, izquierdo.derecho, derecho ) );
+    }
+
+    private static Nodo rotarIzquierda( String valor, Nodo izquierdo, Nodo derecho )
+    {
+        return new Nodo( derecho.valor, new Nodo( valor, izquierdo, derecho.izquierdo ), derecho.derecho );
+    }
+
+    private static int altura( Nodo nodo )
+    {
+        return nodo == null ? 0 : nodo.altura;
+    }
+
+    private static int tamano( Nodo nodo )
+    {
+        return nodo == null ? 0 : nodo.tamano;
+    }
+
+    /**
+     * Un recorrido en orden (o en orden inverso) de una versión del árbol. Como los nodos no cambian, el recorrido siempre ve la versión en la que empezó.
+     */
+    private static final class Recorrido implements Iterator<String>
+    {
+        private final boolean ascendente;
+
+        private final Deque<Nodo> pila;
+
+        private Recorrido( Nodo raiz, boolean ascendente, String desde, boolean inclusivo )
+        {
+            this.ascendente = ascendente;
+            this.pila = new ArrayDeque<Nodo>( );
+            Nodo nodo = raiz;
+            while( nodo != null )
+            {
+                int comparacion = desde == null ? 1 : ( ascendente ? nodo.valor.compareTo( desde ) : desde.compareTo( nodo.valor ) );
+                if( comparacion > 0 || ( comparacion == 0 && inclusivo ) )
+                {
+                    pila.push( nodo );
+                    nodo = ascendente ? nodo.izquierdo : nodo.derecho;
+                }
+                else
+                {
+                    nodo = ascendente ? nodo.derecho : nodo.izquierdo;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            return !pila.isEmpty( );
+        }
+
+        @Override
+        public String next( )
+        {
+            if( pila.isEmpty( ) )
+            {
+                throw new NoSuchElementException( );
+            }
+            Nodo actual = pila.pop( );
+            Nodo nodo = ascendente ? actual.derecho : actual.izquierdo;
+            while( nodo != null )
+            {
+                pila.push( nodo );
+                nodo = ascendente ? nodo.izquierdo : nodo.derecho;
+            }
+            return actual.valor;
+        }
+    }
+
+    /**
+     * Un nodo inmutable del árbol
+     */
+    private static final class Nodo
+    {
+        private final String valor;
+
+        private final Nodo izquierdo;
+
+        private final Nodo derecho;
+
+        /**
+         * La altura del subárbol que tiene este nodo como raíz
+         */
+        private final int altura;
+
+        /**
+         * La cantidad de nodos del subárbol que tiene este nodo como raíz
+         */
+        private final int tamano;
+
+        private Nodo( String valor, Nodo izquierdo, Nodo derecho )
+        {
+            this.valor = valor;
+            this.izquierdo = izquierdo;
+            this.derecho = derecho;
+            this.altura = Math.max( altura( izquierdo ), altura( derecho ) ) + 1;
+            this.tamano = tamano( izquierdo ) + tamano( derecho ) + 1;
+        }
+    }
+}
@@ -0,0 +1,533 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Un conjunto ordenado de cadenas implementado como un árbol radix comprimido (árbol Patricia).
+ *
+ * Cada arco del árbol está etiquetado con un pedazo de cadena, y las cadenas del conjunto se forman concatenando las etiquetas desde la raíz. Así, un prefijo que
+ * comparten muchas cadenas (rutas, identificadores jerárquicos) se guarda una sola vez. Los hijos de cada nodo están ordenados por el primer carácter de su etiqueta,
+ * de manera que recorrer el árbol en preorden produce las cadenas en el mismo orden de String.compareTo.
+ *
+ * Además de las operaciones de un NavigableSet, permite enumerar las cadenas que empiezan por un prefijo, con un costo proporcional al tamaño del prefijo más la cantidad
+ * de resultados.
+ */
+public class ArbolRadix extends ConjuntoNavegableAbstracto
+{
+    /**
+     * La raíz del árbol. Su etiqueta es la cadena vacía.
+     */
+    private Nodo raiz;
+
+    /**
+     * La cantidad de cadenas en el conjunto
+     */
+    private int cantidad;
+
+    /**
+     * Construye un árbol radix vacío
+     */
+    public ArbolRadix( )
+    {
+        raiz = new Nodo( "" );
+        cantidad = 0;
+    }
+
+    /**
+     * Retorna las cadenas del conjunto que empiezan por un prefijo, en orden
+     * @param prefijo El prefijo buscado
+     * @param limite La cantidad máxima de cadenas que se deben retornar
+     * @return Una lista con las primeras cadenas (máximo 'limite') que empiezan por el prefijo
+     */
+    public List<String> buscarPorPrefijo( String prefijo, int limite )
+    {
+        List<String> resultado = new ArrayList<String>( );
+        Nodo nodo = raiz;
+        String cadenaNodo = "";
+        int posicion = 0;
+        while( posicion < prefijo.length( ) )
+        {
+            int indice = nodo.buscarHijo( prefijo.charAt( posicion ) );
+            if( indice < 0 )
+            {
+                return resultado;
+            }
+            Nodo hijo = nodo.hijos[ indice ];
+            int comun = prefijoComun( hijo.etiqueta, prefijo, posicion );
+            if( comun < hijo.etiqueta.length( ) && posicion + comun < prefijo.length( ) )
+            {
+                return resultado;
+            }
+            // Si el prefijo termina en la mitad de la etiqueta, todas las cadenas del subárbol del hijo empiezan por el prefijo
+            cadenaNodo = prefijo.substring( 0, posicion ) + hijo.etiqueta;
+            posicion += comun;
+            nodo = hijo;
+        }
+        Recorrido recorrido = new Recorrido( true );
+        recorrido.apilar( nodo, cadenaNodo, true, 0 );
+        while( resultado.size( ) < limite && recorrido.hasNext( ) )
+        {
+            resultado.add( recorrido.next( ) );
+        }
+        return resultado;
+    }
+
+    @Override
+    public int size( )
+    {
+        return cantidad;
+    }
+
+    @Override
+    public boolean isEmpty( )
+    {
+        return cantidad == 0;
+    }
+
+    @Override
+    public boolean contains( Object objeto )
+    {
+        if( !( objeto instanceof String ) )
+        {
+            return false;
+        }
+        String cadena = ( String )objeto;
+        Nodo nodo = raiz;
+        int posicion = 0;
+        while( posicion < cadena.length( ) )
+        {
+            int indice = nodo.buscarHijo( cadena.charAt( posicion ) );
+            if( indice < 0 )
+            {
+                return false;
+            }
+            Nodo hijo = nodo.hijos[ indice ];
+            if( !cadena.startsWith( hijo.etiqueta, posicion ) )
+            {
+                return false;
+            }
+            posicion += hijo.etiqueta.length( );
+            nodo = hijo;
+        }
+        return nodo.terminal;
+    }
+
+    @Override
+    public boolean add( String cadena )
+    {
+        Nodo nodo = raiz;
+        int posicion = 0;
+        while( posicion < cadena.length( ) )
+        {
+            int indice = nodo.buscarHijo( cadena.charAt( posicion ) );
+            if( indice < 0 )
+            {
+                Nodo hoja = new Nodo( cadena.substring( posicion ) );
+                hoja.terminal = true;
+                nodo.insertarHijo( -indice - 1, hoja );
+                registrarCambio( 1 );
+                return true;
+            }
+            Nodo hijo = nodo.hijos[ indice ];
+            int comun = prefijoComun( hijo.etiqueta, cadena, posicion );
+            if( comun < hijo.etiqueta.length( ) )
+            {
+                // La cadena se separa de la etiqueta del hijo: se parte el arco en dos
+                Nodo intermedio = new Nodo( hijo.etiqueta.substring( 0, comun ) );
+                hijo.etiqueta = hijo.etiqueta.substring( comun );
+                intermedio.hijos = new Nodo[]{ hijo };
+                nodo.hijos[ indice ] = intermedio;
+                if( posicion + comun == cadena.length( ) )
+                {
+                    intermedio.terminal = true;
+                }
+                else
+                {
+                    Nodo hoja = new Nodo( cadena.substring( posicion + comun ) );
+                    hoja.terminal = true;
+                    intermedio.insertarHijo( -intermedio.buscarHijo( hoja.etiqueta.charAt( 0 ) ) - 1, hoja );
+                }
+                registrarCambio( 1 );
+                return true;
+            }
+            posicion += comun;
+            nodo = hijo;
+        }
+        if( nodo.terminal )
+        {
+            return false;
+        }
+        nodo.terminal = true;
+        registrarCambio( 1 );
+        return true;
+    }
+
+    @Override
+    public boolean remove( Object objeto )
+    {
+        if( !( objeto instanceof String ) )
+        {
+            return false;
+        }
+        String cadena = ( String )objeto;
+        Nodo padre = null;
+        int indiceEnPadre = -1;
+        Nodo nodo = raiz;
+        int posicion = 0;
+        while( posicion < cadena.length( ) )
+        {
+            int indice = nodo.buscarHijo( cadena.charAt( posicion ) );
+            if( indice < 0 || !cadena.startsWith( nodo.hijos[ indice ].etiqueta, posicion ) )
+            {
+                return false;
+            }
+            padre = nodo;
+            indiceEnPadre = indice;
+            nodo = nodo.hijos[ indice ];
+            posicion += nodo.etiqueta.length( );
+        }
+        if( !nodo.terminal )
+        {
+            return false;
+        }
+        nodo.terminal = false;
+        if( padre != null )
+        {
+            if( nodo.hijos.length == 0 )
+            {
+                padre.eliminarHijo( indiceEnPadre );
+                if( padre != raiz && !padre.terminal && padre.hijos.length == 1 )
+                {
+                    padre.absorberHijo( );
+                }
+            }
+            else if( nodo.hijos.length == 1 )
+            {
+                nodo.absorberHijo( );
+            }
+        }
+        registrarCambio( -1 );
+        return true;
+    }
+
+    @Override
+    public void clear( )
+    {
+        raiz = new Nodo( "" );
+        registrarCambio( -cantidad );
+    }
+
+    @Override
+    protected Iterator<String> recorrerAscendente( String desde, boolean inclusivo )
+    {
+        Recorrido recorrido = new Recorrido( true );
+        if( desde == null )
+        {
+            recorrido.apilar( raiz, "", true, 0 );
+            return recorrido;
+        }
+        Nodo nodo = raiz;
+        int posicion = 0;
+        while( true )
+        {
+            String cadenaNodo = desde.substring( 0, posicion );
+            if( posicion == desde.length( ) )
+            {
+                recorrido.apilar( nodo, cadenaNodo, inclusivo, 0 );
+                return recorrido;
+            }
+            // La cadena del nodo es un prefijo propio de 'desde', así que es menor: sólo se recorren los hijos que van después de la siguiente letra
+            int indice = nodo.buscarHijo( desde.charAt( posicion ) );
+            recorrido.apilar( nodo, cadenaNodo, false, indice < 0 ? -indice - 1 : indice + 1 );
+            if( indice < 0 )
+            {
+                return recorrido;
+            }
+            Nodo hijo = nodo.hijos[ indice ];
+            int comun = prefijoComun( hijo.etiqueta, desde, posicion );
+            if( comun == hijo.etiqueta.length( ) )
+            {
+                posicion += comun;
+                nodo = hijo;
+            }
+            else
+            {
+                if( posicion + comun == desde.length( ) || hijo.etiqueta.charAt( comun ) > desde.charAt( posicion + comun ) )
+                {
+                    // Todas las cadenas del subárbol del hijo son mayores que 'desde'
+                    recorrido.apilar( hijo, cadenaNodo + hijo.etiqueta, true, 0 );
+                }
+                return recorrido;
+            }
+        }
+    }
+
+    @Override
+    protected Iterator<String> recorrerDescendente( String desde, boolean inclusivo )
+    {
+        Recorrido recorrido = new Recorrido( false );
+        if( desde == null )
+        {
+            recorrido.apilar( raiz, "", true, raiz.hijos.length - 1 );
+            return recorrido;
+        }
+        Nodo nodo = raiz;
+        int posicion = 0;
+        while( true )
+        {
+            String cadenaNodo = desde.substring( 0, posicion );
+            if( posicion == desde.length( ) )
+            {
+                // Los hijos de este nodo son mayores que 'desde'
+                recorrido.apilar( nodo, cadenaNodo, inclusivo, -1 );
+                return recorrido;
+            }
+            // La cadena del nodo es menor que 'desde': se incluye, junto con los hijos que van antes de la siguiente letra
+            int indice = nodo.buscarHijo( desde.charAt( posicion ) );
+            recorrido.apilar( nodo, cadenaNodo, true, indice < 0 ? -indice - 2 : indice - 1 );
+            if( indice < 0 )
+            {
+                return recorrido;
+            }
+            Nodo hijo = nodo.hijos[ indice ];
+            int comun = prefijoComun( hijo.etiqueta, desde, posicion );
+            if( comun == hijo.etiqueta.length( ) )
+            {
+                posicion += comun;
+                nodo = hijo;
+            }
+            else
+            {
+                if( posicion + comun < desde.length( ) && hijo.etiqueta.charAt( comun ) < desde.charAt( posicion + comun ) )
+                {
+                    // Todas las cadenas del subárbol del hijo son menores que 'desde'
+                    recorrido.apilar( hijo, cadenaNodo + hijo.etiqueta, true, hijo.hijos.length - 1 );
+                }
+                return recorrido;
+            }
+        }
+    }
+
+    private void registrarCambio( int diferencia )
+    {
+        cantidad += diferencia;
+        modificaciones++;
+    }
+
+    /**
+     * Calcula cuántos caracteres tienen en común la etiqueta y la cadena a partir de una posición
+     */
+    private static int prefijoComun( String etiqueta, String cadena, int posicion )
+    {
+        int maximo = Math.min( etiqueta.length( ), cadena.length( ) - posicion );
+        int comun = 0;
+        while( comun < maximo && etiqueta.charAt( comun ) == cadena.charAt( posicion + comun ) )
+        {
+            comun++;
+        }
+        return comun;
+    }
+
+    /**
+     * Un recorrido en preorden del árbol (o en preorden inverso), que guarda en una pila los nodos que todavía tienen cadenas por retornar.
+     *
+     * En el recorrido ascendente cada nodo se retorna antes que sus hijos; en el descendente, después de ellos.
+     */
+    private static final class Recorrido implements Iterator<String>
+    {
+        private final boolean ascendente;
+
+        private final Deque<Marco> pila;
+
+        private String siguiente;
+
+        private Recorrido( boolean ascendente )
+        {
+            this.ascendente = ascendente;
+            this.pila = new ArrayDeque<Marco>( );
+        }
+
+        /**
+         * Agrega un nodo al recorrido
+         * @param nodo El nodo
+         * @param cadena La cadena que se forma desde la raíz hasta el nodo
+         * @param incluirNodo Indica si la cadena del nodo se debe retornar (si es terminal)
+         * @param siguienteHijo La posición del primer hijo que se debe recorrer
+         */
+        private void apilar( Nodo nodo, String cadena, boolean incluirNodo, int siguienteHijo )
+        {
+            pila.push( new Marco( nodo, cadena, incluirNodo, siguienteHijo ) );
+        }
+
+        private String avanzar( )
+        {
+            while( !pila.isEmpty( ) )
+            {
+                Marco marco = pila.peek( );
+                if( ascendente && marco.incluirNodo )
+                {
+                    marco.incluirNodo = false;
+                    if( marco.nodo.terminal )
+                    {
+                        return marco.cadena;
+                    }
+                }
+                else if( ascendente && marco.siguienteHijo < marco.nodo.hijos.length )
+                {
+                    Nodo hijo = marco.nodo.hijos[ marco.siguienteHijo ];
+                    marco.siguienteHijo++;
+                    apilar( hijo, marco.cadena + hijo.etiqueta, true, 0 );
+                }
+                else if( !ascendente && marco.siguienteHijo >= 0 )
+                {
+                    Nodo hijo = marco.nodo.hijos[ marco.siguienteHijo ];
+                    marco.siguienteHijo--;
+                    apilar( hijo, marco.cadena + hijo.etiqueta, true, hijo.hijos.length - 1 );
+                }
+                else
+                {
+                    pila.pop( );
+                    if( !ascendente && marco.incluirNodo && marco.nodo.terminal )
+                    {
+                        return marco.cadena;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            if( siguiente == null )
+            {
+                siguiente = avanzar( );
+            }
+            return siguiente != null;
+        }
+
+        @Override
+        public String next( )
+        {
+            if( !hasNext( ) )
+            {
+                throw new NoSuchElementException( );
+            }
+            String resultado = siguiente;
+            siguiente = null;
+            return resultado;
+        }
+    }
+
+    /**
+     * Un nodo pendiente dentro de un recorrido
+     */
+    private static final class Marco
+    {
+        private final Nodo nodo;
+
+        private final String cadena;
+
+        private boolean incluirNodo;
+
+        private int siguienteHijo;
+
+        private Marco( Nodo nodo, String cadena, boolean incluirNodo, int siguienteHijo )
+        {
+            this.nodo = nodo;
+            this.cadena = cadena;
+            this.incluirNodo = incluirNodo;
+            this.siguienteHijo = siguienteHijo;
+        }
+    }
+
+    /**
+     * Un nodo del árbol
+     */
+    private static final class Nodo
+    {
+        private static final Nodo[] SIN_HIJOS = new Nodo[0];
+
+        /**
+         * El pedazo de cadena del arco que llega a este nodo
+         */
+        private String etiqueta;
+
+        /**
+         * Indica si la cadena que termina en este nodo hace parte del conjunto
+         */
+        private boolean terminal;
+
+        /**
+         * Los hijos del nodo, ordenados por el primer carácter de su etiqueta
+         */
+        private Nodo[] hijos;
+
+        private Nodo( String etiqueta )
+        {
+            this.etiqueta = etiqueta;
+            this.hijos = SIN_HIJOS;
+        }
+
+        /**
+         * Busca el hijo cuya etiqueta empieza por la letra dada
+         * @return La posición del hijo, o (-(posición donde debería estar) - 1) si no existe
+         */
+        private int buscarHijo( char letra )
+        {
+            int bajo = 0;
+            int alto = hijos.length - 1;
+            while( bajo <= alto )
+            {
+                int medio = ( bajo + alto ) >>> 1;
+                char letraMedio = hijos[ medio ].etiqueta.charAt( 0 );
+                if( letraMedio < letra )
+                {
+                    bajo = medio + 1;
+                }
+                else if( letraMedio > letra )
+                {
+                    alto = medio - 1;
+                }
+                else
+                {
+                    return medio;
+                }
+            }
+            return -( bajo + 1 );
+        }
+
+        private void insertarHijo( int posicion, Nodo hijo )
+        {
+            Nodo[] nuevos = Arrays.copyOf( hijos, hijos.length + 1 );
+            System.arraycopy( hijos, posicion, nuevos, posicion + 1, hijos.length - posicion );
+            nuevos[ posicion ] = hijo;
+            hijos = nuevos;
+        }
+
+        private void eliminarHijo( int posicion )
+        {
+            Nodo[] nuevos = new Nodo[hijos.length - 1];
+            System.arraycopy( hijos, 0, nuevos, 0, posicion );
+            System.arraycopy( hijos, posicion + 1, nuevos, posicion, hijos.length - posicion - 1 );
+            hijos = nuevos.length == 0 ? SIN_HIJOS : nuevos;
+        }
+
+        /**
+         * Une este nodo con su único hijo, cuando este nodo no es terminal y ya no hace falta como punto de separación
+         */
+        private void absorberHijo( )
+        {
+            Nodo hijo = hijos[ 0 ];
+            etiqueta = etiqueta + hijo.etiqueta;
+            terminal = hijo.terminal;
+            hijos = hijo.hijos;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Combina dos arreglos ordenados y sin repetidos de cadenas para calcular la unión, intersección o diferencia de los conjuntos que representan. Los dos arreglos deben
+ * estar en el mismo orden, que es el orden natural de las cadenas o el de un Comparator.
+ *
+ * Los dos arreglos se recorren a la vez, como en el merge de un merge sort, pero cada vez que un arreglo tiene un bloque de cadenas menores que la siguiente del otro, el
+ * final del bloque se busca saltando en potencias de dos (búsqueda exponencial o "galloping"). Así la combinación es lineal cuando los arreglos están intercalados, y
+ * cuando uno es mucho más pequeño que el otro toma un tiempo proporcional a m log(n/m) en lugar de n.
+ */
+final class CombinacionCadenas
+{
+    /**
+     * Indica si el resultado incluye las cadenas que sólo están en el primer arreglo
+     */
+    private final boolean soloPrimero;
+
+    /**
+     * Indica si el resultado incluye las cadenas que están en los dos arreglos
+     */
+    private final boolean ambos;
+
+    /**
+     * Indica si el resultado incluye las cadenas que sólo están en el segundo arreglo
+     */
+    private final boolean soloSegundo;
+
+    static final CombinacionCadenas UNION = new CombinacionCadenas( true, true, true );
+
+    static final CombinacionCadenas INTERSECCION = new CombinacionCadenas( false, true, false );
+
+    static final CombinacionCadenas DIFERENCIA = new CombinacionCadenas( true, false, false );
+
+    static final CombinacionCadenas DIFERENCIA_SIMETRICA = new CombinacionCadenas( true, false, true );
+
+    private CombinacionCadenas( boolean soloPrimero, boolean ambos, boolean soloSegundo )
+    {
+        this.soloPrimero = soloPrimero;
+        this.ambos = ambos;
+        this.soloSegundo = soloSegundo;
+    }
+
+    /**
+     * Calcula el resultado de la combinación
+     * @param primero Las cadenas del primer conjunto, ordenadas y sin repetidos
+     * @param segundo Las cadenas del segundo conjunto, ordenadas y sin repetidos
+     * @param orden El orden de los dos arreglos, o null si están en el orden natural
+     * @return Un arreglo nuevo con las cadenas del resultado, ordenadas y sin repetidos
+     */
+    String[] calcular( String[] primero, String[] segundo, Comparator<? super String> orden )
+    {
+        String[] resultado = new String[contar( primero, segundo, orden )];
+        combinar( primero, segundo, orden, resultado );
+        return resultado;
+    }
+
+    /**
+     * Cuenta las cadenas del resultado de la combinación, sin construirlo
+     * @param primero Las cadenas del primer conjunto, ordenadas y sin repetidos
+     * @param segundo Las cadenas del segundo conjunto, ordenadas y sin repetidos
+     * @param orden El orden de los dos arreglos, o null si están en el orden natural
+     * @return La cantidad de cadenas del resultado
+     */
+    int contar( String[] primero, String[] segundo, Comparator<? super String> orden )
+    {
+        return combinar( primero, segundo, orden, null );
+    }
+
+    /**
+     * Recorre los dos arreglos y copia el resultado en 'destino', si no es null
+     * @return La cantidad de cadenas del resultado
+     */
+    private int combinar( String[] primero, String[] segundo, Comparator<? super String> orden, String[] destino )
+    {
+        int i = 0;
+        int j = 0;
+        int cantidad = 0;
+        while( i < primero.length && j < segundo.length )
+        {
+            int comparacion = comparar( primero[ i ], segundo[ j ], orden );
+            if( comparacion < 0 )
+            {
+                int fin = galopar( primero, i, segundo[ j ], orden );
+                cantidad += copiar( soloPrimero, primero, i, fin, destino, cantidad );
+                i = fin;
+            }
+            else if( comparacion > 0 )
+            {
+                int fin = galopar( segundo, j, primero[ i ], orden );
+                cantidad += copiar( soloSegundo, segundo, j, fin, destino, cantidad );
+                j = fin;
+            }
+            else
+            {
+                cantidad += copiar( ambos, primero, i, i + 1, destino, cantidad );
+                i++;
+                j++;
+            }
+        }
+        cantidad += copiar( soloPrimero, primero, i, primero.length, destino, cantidad );
+        cantidad += copiar( soloSegundo, segundo, j, segundo.length, destino, cantidad );
+        return cantidad;
+    }
+
+    /**
+     * Copia un bloque de cadenas en el destino, si el bloque hace parte del resultado
+     * @return La cantidad de cadenas que el bloque aporta al resultado
+     */
+    private static int copiar( boolean incluir, String[] origen, int desde, int hasta, String[] destino, int posicion )
+    {
+        if( !incluir )
+        {
+            return 0;
+        }
+        if( destino != null )
+        {
+            System.arraycopy( origen, desde, destino, posicion, hasta - desde );
+        }
+        return hasta - desde;
+    }
+
+    /**
+     * Busca la posición de la primera cadena del arreglo, a partir de 'desde', que no es menor que el límite. Primero salta en potencias de dos hasta pasarse del límite y
+     * después hace una búsqueda binaria en el último salto.
+     * @return La posición encontrada, o la longitud del arreglo si todas las cadenas desde 'desde' son menores
+     */
+    static int galopar( String[] arreglo, int desde, String limite, Comparator<? super String> orden )
+    {
+        int bajo = desde;
+        int alto = arreglo.length;
+        int paso = 1;
+        while( bajo + paso - 1 < arreglo.length )
+        {
+            int prueba = bajo + paso - 1;
+            if( comparar( arreglo[ prueba ], limite, orden ) < 0 )
+            {
+                bajo = prueba + 1;
+                paso <<= 1;
+            }
+            else
+            {
+                alto = prueba;
+                break;
+            }
+        }
+        int posicion = Arrays.binarySearch( arreglo, bajo, alto, limite, orden );
+        return posicion < 0 ? -posicion - 1 : posicion;
+    }
+
+    private static int comparar( String a, String b, Comparator<? super String> orden )
+    {
+        return orden == null ? a.compareTo( b ) : orden.compare( a, b );
+    }
+}
@@ -0,0 +1,153 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Un conjunto ordenado de cadenas, de sólo lectura, guardado en un arreglo ordenado y sin repetidos.
+ *
+ * Sirve para cargar muchas cadenas de una vez en otro conjunto: como es un SortedSet con el orden natural de las cadenas, un TreeSet vacío que lo recibe en addAll
+ * construye su árbol balanceado directamente, en tiempo lineal, en lugar de insertar y rebalancear cadena por cadena.
+ */
+public class ConjuntoArregloOrdenado extends ConjuntoNavegableAbstracto
+{
+    /**
+     * Las cadenas del conjunto, ordenadas y sin repetidos, en las posiciones de 0 a cantidad - 1
+     */
+    private final String[] cadenas;
+
+    /**
+     * La cantidad de cadenas del conjunto
+     */
+    private final int cantidad;
+
+    private ConjuntoArregloOrdenado( String[] cadenas, int cantidad )
+    {
+        this.cadenas = cadenas;
+        this.cantidad = cantidad;
+    }
+
+    /**
+     * Construye un conjunto con las cadenas de un arreglo. El arreglo se ordena sólo si no está ordenado, y se le quitan los repetidos.
+     *
+     * El arreglo no se copia: se reorganiza en el mismo lugar y queda como parte del conjunto, así que no se debe modificar después.
+     * @param cadenas Las cadenas del conjunto, en cualquier orden y posiblemente con repetidos. No puede tener elementos null.
+     * @return El conjunto con las cadenas del arreglo
+     */
+    public static ConjuntoArregloOrdenado construir( String[] cadenas )
+    {
+        if( !estaOrdenado( cadenas ) )
+        {
+            Arrays.sort( cadenas );
+        }
+        int cantidad = 0;
+        for( int i = 0; i < cadenas.length; i++ )
+        {
+            if( cantidad == 0 || !cadenas[ i ].equals( cadenas[ cantidad - 1 ] ) )
+            {
+                cadenas[ cantidad ] = cadenas[ i ];
+                cantidad++;
+            }
+        }
+        return new ConjuntoArregloOrdenado( cadenas, cantidad );
+    }
+
+    /**
+     * Indica si las cadenas del arreglo ya están en orden (permitiendo repetidos)
+     */
+    static boolean estaOrdenado( String[] cadenas )
+    {
+        for( int i = 1; i < cadenas.length; i++ )
+        {
+            if( cadenas[ i - 1 ].compareTo( cadenas[ i ] ) > 0 )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Busca la posición de la primera cadena que va después de 'desde' (o que es igual, si es inclusivo)
+     */
+    private int posicionDesde( String desde, boolean inclusivo )
+    {
+        int posicion = Arrays.binarySearch( cadenas, 0, cantidad, desde );
+        if( posicion < 0 )
+        {
+            return -posicion - 1;
+        }
+        return inclusivo ? posicion : posicion + 1;
+    }
+
+    @Override
+    public int size( )
+    {
+        return cantidad;
+    }
+
+    @Override
+    public boolean isEmpty( )
+    {
+        return cantidad == 0;
+    }
+
+    @Override
+    public boolean contains( Object objeto )
+    {
+        return objeto instanceof String && Arrays.binarySearch( cadenas, 0, cantidad, objeto ) >= 0;
+    }
+
+    @Override
+    public Object[] toArray( )
+    {
+        return Arrays.copyOf( cadenas, cantidad, Object[].class );
+    }
+
+    @Override
+    protected Iterator<String> recorrerAscendente( String desde, boolean inclusivo )
+    {
+        return new Recorrido( desde == null ? 0 : posicionDesde( desde, inclusivo ), 1 );
+    }
+
+    @Override
+    protected Iterator<String> recorrerDescendente( String desde, boolean inclusivo )
+    {
+        return new Recorrido( desde == null ? cantidad - 1 : posicionDesde( desde, !inclusivo ) - 1, -1 );
+    }
+
+    /**
+     * Un recorrido del arreglo a partir de una posición, hacia adelante o hacia atrás
+     */
+    private final class Recorrido implements Iterator<String>
+    {
+        private int posicion;
+
+        private final int paso;
+
+        private Recorrido( int posicion, int paso )
+        {
+            this.posicion = posicion;
+            this.paso = paso;
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            return posicion >= 0 && posicion < cantidad;
+        }
+
+        @Override
+        public String next( )
+        {
+            if( !hasNext( ) )
+            {
+                throw new NoSuchElementException( );
+            }
+            String cadena = cadenas[ posicion ];
+            posicion += paso;
+            return cadena;
+        }
+    }
+}
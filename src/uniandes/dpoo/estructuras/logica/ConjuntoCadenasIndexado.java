@@ -0,0 +1,308 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Un conjunto ordenado de cadenas que envuelve a otro (por ejemplo un TreeSet) y mantiene información adicional sobre su contenido.
+ *
+ * Todas las modificaciones, incluyendo las que se hacen a través de las vistas y de los iteradores, pasan por los métodos add, remove y clear de esta clase, así que la
+ * información adicional siempre corresponde al contenido del conjunto.
+ *
+ * Cada modificación inicia una nueva versión del conjunto. La instantánea ordenada del conjunto se construye una sola vez por versión y se comparte entre todos los que
+ * la pidan hasta la siguiente modificación.
+ *
+ * Además se le pueden agregar índices (IndiceCadenas), que reciben un aviso por cada cadena agregada o eliminada.
+ *
+ * Las consultas de posiciones (ConjuntoConRango) se le pasan al conjunto envuelto si las soporta; si no, se responden con la instantánea de la versión actual.
+ */
+public class ConjuntoCadenasIndexado extends ConjuntoNavegableAbstracto implements ConjuntoConRango
+{
+    /**
+     * El conjunto donde realmente se guardan las cadenas
+     */
+    private NavigableSet<String> delegado;
+
+    /**
+     * La instantánea de la última versión para la que se pidió una, o null si nunca se ha pedido
+     */
+    private InstantaneaCadenas instantanea;
+
+    /**
+     * Un conjunto vacío del tipo que tenía el conjunto envuelto antes de congelarlo, o null si no está congelado
+     */
+    private NavigableSet<String> vacioAntesDeCongelar;
+
+    /**
+     * Los índices que se mantienen al día con el contenido del conjunto
+     */
+    private final List<IndiceCadenas> indices;
+
+    /**
+     * Construye un conjunto indexado que guarda sus cadenas en el conjunto recibido. El conjunto recibido no se debe modificar directamente después.
+     * @param delegado El conjunto donde se van a guardar las cadenas
+     */
+    public ConjuntoCadenasIndexado( NavigableSet<String> delegado )
+    {
+        this.delegado = delegado;
+        this.indices = new ArrayList<IndiceCadenas>( );
+    }
+
+    /**
+     * Agrega un índice al conjunto. El índice recibe primero todas las cadenas que ya están en el conjunto y después un aviso por cada modificación.
+     * @param indice El índice que se va a mantener
+     */
+    public void agregarIndice( IndiceCadenas indice )
+    {
+        for( String cadena : delegado )
+        {
+            indice.cadenaAgregada( cadena );
+        }
+        indices.add( indice );
+    }
+
+    /**
+     * Busca entre los índices del conjunto uno del tipo indicado
+     * @param tipo La clase del índice buscado
+     * @return El primer índice de ese tipo, o null si el conjunto no tiene ninguno
+     */
+    public <T extends IndiceCadenas> T getIndice( Class<T> tipo )
+    {
+        for( IndiceCadenas indice : indices )
+        {
+            if( tipo.isInstance( indice ) )
+            {
+                return tipo.cast( indice );
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retorna la versión actual del conjunto, que cambia cada vez que el contenido cambia
+     * @return La versión del conjunto
+     */
+    public int getVersion( )
+    {
+        return modificaciones;
+    }
+
+    /**
+     * Retorna una instantánea inmutable del contenido actual del conjunto. Si el conjunto no ha cambiado desde la última vez que se pidió, se retorna la misma instancia.
+     * @return La instantánea de la versión actual
+     */
+    public InstantaneaCadenas getInstantanea( )
+    {
+        if( instantanea == null || instantanea.getVersion( ) != modificaciones )
+        {
+            instantanea = new InstantaneaCadenas( delegado.toArray( new String[0] ), modificaciones );
+        }
+        return instantanea;
+    }
+
+    @Override
+    public int getPosicion( String cadena )
+    {
+        if( delegado instanceof ConjuntoConRango )
+        {
+            return ( ( ConjuntoConRango )delegado ).getPosicion( cadena );
+        }
+        int posicion = Arrays.binarySearch( getInstantanea( ).getArreglo( ), cadena, delegado.comparator( ) );
+        return posicion < 0 ? -posicion - 1 : posicion;
+    }
+
+    @Override
+    public String getCadena( int posicion )
+    {
+        if( delegado instanceof ConjuntoConRango )
+        {
+            return ( ( ConjuntoConRango )delegado ).getCadena( posicion );
+        }
+        return getInstantanea( ).get( posicion );
+    }
+
+    /**
+     * Retorna el conjunto donde realmente se guardan las cadenas, para las consultas propias de su implementación. No se debe modificar directamente.
+     * @return El conjunto envuelto
+     */
+    NavigableSet<String> getDelegado( )
+    {
+        return delegado;
+    }
+
+    /**
+     * Cambia el conjunto donde se guardan las cadenas por otro con exactamente las mismas cadenas. Como el contenido no cambia, la versión, la instantánea y los índices
+     * siguen siendo válidos.
+     * @param nuevoDelegado El nuevo conjunto, con las mismas cadenas y el mismo orden que el actual
+     */
+    void reemplazarDelegado( NavigableSet<String> nuevoDelegado )
+    {
+        delegado = nuevoDelegado;
+    }
+
+    /**
+     * Reemplaza el conjunto envuelto por un ConjuntoCompacto con las mismas cadenas, y recuerda de qué tipo era para poder descongelarlo
+     * @param vacioDelMismoTipo Un conjunto vacío del mismo tipo y con el mismo orden que el conjunto envuelto actual
+     */
+    void congelar( NavigableSet<String> vacioDelMismoTipo )
+    {
+        vacioAntesDeCongelar = vacioDelMismoTipo;
+        reemplazarDelegado( new ConjuntoCompacto( getInstantanea( ) ) );
+    }
+
+    /**
+     * Vuelve a guardar las cadenas en un conjunto del tipo que había antes de congelar
+     */
+    void descongelar( )
+    {
+        NavigableSet<String> nuevoDelegado = vacioAntesDeCongelar;
+        nuevoDelegado.addAll( delegado );
+        vacioAntesDeCongelar = null;
+        reemplazarDelegado( nuevoDelegado );
+    }
+
+    /**
+     * Retorna un conjunto vacío del mismo tipo y con el mismo orden que el conjunto envuelto. Si el conjunto está congelado, del tipo que tenía antes de congelarlo.
+     * @return Un conjunto vacío nuevo
+     */
+    NavigableSet<String> crearDelegadoVacio( )
+    {
+        NavigableSet<String> actual = vacioAntesDeCongelar != null ? vacioAntesDeCongelar : delegado;
+        if( actual instanceof ArbolRadix )
+        {
+            return new ArbolRadix( );
+        }
+        if( actual instanceof ArbolEstadisticoOrden )
+        {
+            return new ArbolEstadisticoOrden( );
+        }
+        if( actual instanceof ArbolPersistente )
+        {
+            return new ArbolPersistente( );
+        }
+        if( actual instanceof ConjuntoCotejado )
+        {
+            return new ConjuntoCotejado( ( ( ConjuntoCotejado )actual ).getCotejador( ) );
+        }
+        return new TreeSet<String>( actual.comparator( ) );
+    }
+
+    @Override
+    protected Iterator<String> recorrerAscendente( String desde, boolean inclusivo )
+    {
+        return desde == null ? delegado.iterator( ) : delegado.tailSet( desde, inclusivo ).iterator( );
+    }
+
+    @Override
+    protected Iterator<String> recorrerDescendente( String desde, boolean inclusivo )
+    {
+        return desde == null ? delegado.descendingIterator( ) : delegado.headSet( desde, inclusivo ).descendingIterator( );
+    }
+
+    @Override
+    public Comparator<? super String> comparator( )
+    {
+        return delegado.comparator( );
+    }
+
+    @Override
+    public int size( )
+    {
+        return delegado.size( );
+    }
+
+    @Override
+    public boolean isEmpty( )
+    {
+        return delegado.isEmpty( );
+    }
+
+    @Override
+    public boolean contains( Object objeto )
+    {
+        return delegado.contains( objeto );
+    }
+
+    @Override
+    public boolean add( String cadena )
+    {
+        if( !delegado.add( cadena ) )
+        {
+            return false;
+        }
+        modificaciones++;
+        for( IndiceCadenas indice : indices )
+        {
+            indice.cadenaAgregada( cadena );
+        }
+        return true;
+    }
+
+    /**
+     * Elimina una cadena del conjunto. Si el conjunto tiene un orden propio (por ejemplo el de un Collator), la cadena eliminada puede ser una diferente a la recibida
+     * pero igual según ese orden; a los índices se les avisa la cadena que realmente estaba guardada.
+     */
+    @Override
+    public boolean remove( Object objeto )
+    {
+        String guardada = objeto instanceof String && !indices.isEmpty( ) && delegado.comparator( ) != null ? delegado.ceiling( ( String )objeto ) : null;
+        if( !delegado.remove( objeto ) )
+        {
+            return false;
+        }
+        modificaciones++;
+        for( IndiceCadenas indice : indices )
+        {
+            indice.cadenaEliminada( guardada != null ? guardada : ( String )objeto );
+        }
+        return true;
+    }
+
+    /**
+     * Agrega todas las cadenas de una colección. Si el conjunto está vacío y la colección es un SortedSet con el mismo orden, las cadenas se le pasan juntas al delegado:
+     * un TreeSet las carga así en tiempo lineal, sin rebalancear.
+     */
+    @Override
+    public boolean addAll( Collection<? extends String> cadenas )
+    {
+        if( !delegado.isEmpty( ) || !( cadenas instanceof SortedSet ) || !Objects.equals( ( ( SortedSet<?> )cadenas ).comparator( ), delegado.comparator( ) ) )
+        {
+            return super.addAll( cadenas );
+        }
+        if( !delegado.addAll( cadenas ) )
+        {
+            return false;
+        }
+        modificaciones++;
+        for( IndiceCadenas indice : indices )
+        {
+            for( String cadena : delegado )
+            {
+                indice.cadenaAgregada( cadena );
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear( )
+    {
+        if( !delegado.isEmpty( ) )
+        {
+            delegado.clear( );
+            modificaciones++;
+            for( IndiceCadenas indice : indices )
+            {
+                indice.conjuntoVaciado( );
+            }
+        }
+    }
+}
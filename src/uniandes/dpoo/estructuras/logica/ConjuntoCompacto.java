@@ -0,0 +1,259 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Un conjunto ordenado de cadenas, inmutable, que guarda las cadenas comprimidas con codificación por prefijos (front coding).
+ *
+ * Las cadenas se agrupan en bloques de TAMANO_BLOQUE cadenas consecutivas. La primera cadena de cada bloque (la cabecera) se guarda completa; cada una de las demás se
+ * guarda como la cantidad de caracteres que comparte con la anterior más los caracteres que le siguen. Todos los bloques se guardan seguidos en una sola cadena, así que
+ * en lugar de un nodo y un objeto String por cada cadena sólo hay un String por bloque y unos pocos caracteres por cadena.
+ *
+ * Las búsquedas hacen una búsqueda binaria sobre las cabeceras y después decodifican un solo bloque. Como los bloques tienen todos el mismo tamaño, también se puede saber
+ * en tiempo logarítmico cuántas cadenas son menores que una cadena dada (getPosicion) y cuál es la cadena en una posición (getCadena).
+ */
+public class ConjuntoCompacto extends ConjuntoNavegableAbstracto implements ConjuntoConRango
+{
+    /**
+     * La cantidad de cadenas de cada bloque. El último bloque puede tener menos.
+     */
+    private static final int TAMANO_BLOQUE = 16;
+
+    /**
+     * La primera cadena de cada bloque
+     */
+    private final String[] cabeceras;
+
+    /**
+     * La posición dentro de 'datos' donde empiezan las cadenas de cada bloque (después de la cabecera)
+     */
+    private final int[] iniciosBloques;
+
+    /**
+     * Las cadenas de todos los bloques, menos las cabeceras, codificadas por prefijos. Cada cadena se guarda como la longitud del prefijo que comparte con la anterior, la
+     * longitud del resto y el resto. Las longitudes se escriben con 7 bits por carácter, de manera que si las cadenas sólo usan caracteres latinos 'datos' ocupa un byte
+     * por carácter.
+     */
+    private final String datos;
+
+    /**
+     * La cantidad de cadenas del conjunto
+     */
+    private final int cantidad;
+
+    /**
+     * Construye un conjunto compacto con las cadenas recibidas
+     * @param ordenadas Las cadenas del conjunto, ordenadas lexicográficamente y sin repetidos (por ejemplo una InstantaneaCadenas)
+     */
+    public ConjuntoCompacto( Collection<String> ordenadas )
+    {
+        cantidad = ordenadas.size( );
+        int cantidadBloques = ( cantidad + TAMANO_BLOQUE - 1 ) / TAMANO_BLOQUE;
+        cabeceras = new String[cantidadBloques];
+        iniciosBloques = new int[cantidadBloques];
+        StringBuilder codificadas = new StringBuilder( );
+        String anterior = null;
+        int posicion = 0;
+        for( String cadena : ordenadas )
+        {
+            if( posicion % TAMANO_BLOQUE == 0 )
+            {
+                cabeceras[ posicion / TAMANO_BLOQUE ] = cadena;
+                iniciosBloques[ posicion / TAMANO_BLOQUE ] = codificadas.length( );
+            }
+            else
+            {
+                int comun = prefijoComun( anterior, cadena );
+                escribirLongitud( codificadas, comun );
+                escribirLongitud( codificadas, cadena.length( ) - comun );
+                codificadas.append( cadena, comun, cadena.length( ) );
+            }
+            anterior = cadena;
+            posicion++;
+        }
+        datos = codificadas.toString( );
+    }
+
+    @Override
+    public int getPosicion( String cadena )
+    {
+        int posicion = buscar( cadena );
+        return posicion < 0 ? -posicion - 1 : posicion;
+    }
+
+    @Override
+    public String getCadena( int posicion )
+    {
+        if( posicion < 0 || posicion >= cantidad )
+        {
+            throw new IndexOutOfBoundsException( "Posición " + posicion + ", tamaño " + cantidad );
+        }
+        return decodificarBloque( posicion / TAMANO_BLOQUE )[ posicion % TAMANO_BLOQUE ];
+    }
+
+    /**
+     * Busca una cadena en el conjunto
+     * @return La posición de la cadena si está, o (-(posición donde debería estar) - 1) si no está
+     */
+    private int buscar( String cadena )
+    {
+        int bloque = Arrays.binarySearch( cabeceras, cadena );
+        if( bloque >= 0 )
+        {
+            return bloque * TAMANO_BLOQUE;
+        }
+        bloque = -bloque - 2;
+        if( bloque < 0 )
+        {
+            return -1;
+        }
+        String[] cadenas = decodificarBloque( bloque );
+        int posicion = Arrays.binarySearch( cadenas, cadena );
+        return posicion >= 0 ? bloque * TAMANO_BLOQUE + posicion : posicion - bloque * TAMANO_BLOQUE;
+    }
+
+    /**
+     * Decodifica todas las cadenas de un bloque
+     */
+    private String[] decodificarBloque( int bloque )
+    {
+        int tamano = Math.min( TAMANO_BLOQUE, cantidad - bloque * TAMANO_BLOQUE );
+        String[] cadenas = new String[tamano];
+        cadenas[ 0 ] = cabeceras[ bloque ];
+        int[] lectura = new int[]{ iniciosBloques[ bloque ] };
+        for( int i = 1; i < tamano; i++ )
+        {
+            int comun = leerLongitud( lectura );
+            int resto = leerLongitud( lectura );
+            cadenas[ i ] = cadenas[ i - 1 ].substring( 0, comun ) + datos.substring( lectura[ 0 ], lectura[ 0 ] + resto );
+            lectura[ 0 ] += resto;
+        }
+        return cadenas;
+    }
+
+    private static void escribirLongitud( StringBuilder destino, int longitud )
+    {
+        while( longitud >= 0x80 )
+        {
+            destino.append( ( char ) ( 0x80 | ( longitud & 0x7F ) ) );
+            longitud >>>= 7;
+        }
+        destino.append( ( char )longitud );
+    }
+
+    /**
+     * Lee una longitud de 'datos' en la posición lectura[0] y deja en lectura[0] la posición siguiente
+     */
+    private int leerLongitud( int[] lectura )
+    {
+        int longitud = 0;
+        int desplazamiento = 0;
+        char letra;
+        do
+        {
+            letra = datos.charAt( lectura[ 0 ] );
+            lectura[ 0 ]++;
+            longitud |= ( letra & 0x7F ) << desplazamiento;
+            desplazamiento += 7;
+        } while( ( letra & 0x80 ) != 0 );
+        return longitud;
+    }
+
+    private static int prefijoComun( String a, String b )
+    {
+        int maximo = Math.min( a.length( ), b.length( ) );
+        int comun = 0;
+        while( comun < maximo && a.charAt( comun ) == b.charAt( comun ) )
+        {
+            comun++;
+        }
+        return comun;
+    }
+
+    @Override
+    public int size( )
+    {
+        return cantidad;
+    }
+
+    @Override
+    public boolean isEmpty( )
+    {
+        return cantidad == 0;
+    }
+
+    @Override
+    public boolean contains( Object objeto )
+    {
+        return objeto instanceof String && buscar( ( String )objeto ) >= 0;
+    }
+
+    @Override
+    protected Iterator<String> recorrerAscendente( String desde, boolean inclusivo )
+    {
+        if( desde == null )
+        {
+            return new Recorrido( 0, 1 );
+        }
+        int posicion = buscar( desde );
+        return new Recorrido( posicion < 0 ? -posicion - 1 : ( inclusivo ? posicion : posicion + 1 ), 1 );
+    }
+
+    @Override
+    protected Iterator<String> recorrerDescendente( String desde, boolean inclusivo )
+    {
+        if( desde == null )
+        {
+            return new Recorrido( cantidad - 1, -1 );
+        }
+        int posicion = buscar( desde );
+        return new Recorrido( posicion < 0 ? -posicion - 2 : ( inclusivo ? posicion : posicion - 1 ), -1 );
+    }
+
+    /**
+     * Un recorrido del conjunto a partir de una posición, hacia adelante o hacia atrás, que decodifica un bloque a la vez
+     */
+    private final class Recorrido implements Iterator<String>
+    {
+        private int posicion;
+
+        private final int paso;
+
+        private int bloque;
+
+        private String[] cadenasBloque;
+
+        private Recorrido( int posicion, int paso )
+        {
+            this.posicion = posicion;
+            this.paso = paso;
+            this.bloque = -1;
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            return posicion >= 0 && posicion < cantidad;
+        }
+
+        @Override
+        public String next( )
+        {
+            if( !hasNext( ) )
+            {
+                throw new NoSuchElementException( );
+            }
+            if( posicion / TAMANO_BLOQUE != bloque )
+            {
+                bloque = posicion / TAMANO_BLOQUE;
+                cadenasBloque = decodificarBloque( bloque );
+            }
+            String cadena = cadenasBloque[ posicion % TAMANO_BLOQUE ];
+            posicion += paso;
+            return cadena;
+        }
+    }
+}
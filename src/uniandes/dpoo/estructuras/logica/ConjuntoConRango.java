@@ -0,0 +1,22 @@
+package uniandes.dpoo.estructuras.logica;
+
+/**
+ * Un conjunto ordenado de cadenas que permite consultar posiciones: cuántas cadenas hay antes de una cadena dada (rango) y cuál es la cadena en una posición (selección).
+ */
+public interface ConjuntoConRango
+{
+    /**
+     * Retorna la cantidad de cadenas del conjunto que son menores que la cadena dada, que es también la posición que ocupa (u ocuparía) la cadena en el conjunto
+     * @param cadena La cadena
+     * @return La cantidad de cadenas menores que la cadena
+     */
+    int getPosicion( String cadena );
+
+    /**
+     * Retorna la cadena que está en una posición del conjunto
+     * @param posicion La posición, entre 0 y size() - 1
+     * @return La cadena en esa posición
+     * @throws IndexOutOfBoundsException Si la posición no existe en el conjunto
+     */
+    String getCadena( int posicion );
+}
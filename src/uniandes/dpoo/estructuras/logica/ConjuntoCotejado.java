@@ -0,0 +1,236 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Un conjunto de cadenas ordenado según las reglas de un idioma (un Collator), por ejemplo para que "árbol" quede junto a "arco" y no después de "zapato".
+ *
+ * Comparar dos cadenas con un Collator es mucho más lento que compararlas con compareTo, porque cada comparación vuelve a calcular los pesos de cada carácter. Por eso el
+ * conjunto calcula una sola vez la llave de cotejo (CollationKey) de cada cadena y guarda las llaves en un TreeSet: al navegar por el árbol sólo se comparan llaves, que es
+ * una comparación de bytes.
+ *
+ * Las llaves de las cadenas guardadas también se conservan por cadena, así que el comparador del conjunto (comparator), que usan sus vistas y los conjuntos que lo
+ * envuelven, no vuelve a calcularlas. Para una cadena que no está en el conjunto la llave se calcula cada vez y no se guarda: las consultas no modifican el conjunto, así
+ * que se pueden hacer desde varios threads a la vez mientras nadie lo modifique.
+ *
+ * Igual que en un TreeSet ordenado con el Collator, dos cadenas que el Collator considera iguales (según su fuerza) se tratan como la misma cadena.
+ */
+public class ConjuntoCotejado extends ConjuntoNavegableAbstracto
+{
+    /**
+     * El Collator que define el orden del conjunto
+     */
+    private final Collator cotejador;
+
+    /**
+     * Las llaves de cotejo de las cadenas del conjunto. Cada llave conoce la cadena de la que salió.
+     */
+    private final NavigableSet<CollationKey> llaves;
+
+    /**
+     * La llave de cotejo de cada cadena del conjunto
+     */
+    private final Map<String, CollationKey> llavesGuardadas;
+
+    /**
+     * El comparador del conjunto, que compara las llaves de cotejo en lugar de volver a aplicar el Collator
+     */
+    private final Comparador comparador;
+
+    /**
+     * Construye un conjunto vacío ordenado con el Collator dado
+     * @param cotejador El Collator que define el orden. El conjunto guarda una copia, así que cambiar el Collator después no afecta al conjunto.
+     */
+    public ConjuntoCotejado( Collator cotejador )
+    {
+        this.cotejador = ( Collator )cotejador.clone( );
+        this.llaves = new TreeSet<CollationKey>( );
+        this.llavesGuardadas = new HashMap<String, CollationKey>( );
+        this.comparador = new Comparador( );
+    }
+
+    /**
+     * Retorna una copia del Collator que define el orden del conjunto
+     * @return El Collator del conjunto
+     */
+    public Collator getCotejador( )
+    {
+        return ( Collator )cotejador.clone( );
+    }
+
+    /**
+     * Ordena un arreglo de cadenas según un Collator, calculando una sola vez la llave de cotejo de cada cadena
+     * @param cadenas Las cadenas que se van a ordenar. El arreglo se modifica.
+     * @param cotejador El Collator que define el orden
+     */
+    static void ordenar( String[] cadenas, Collator cotejador )
+    {
+        CollationKey[] llavesCadenas = new CollationKey[cadenas.length];
+        for( int i = 0; i < cadenas.length; i++ )
+        {
+            llavesCadenas[ i ] = cotejador.getCollationKey( cadenas[ i ] );
+        }
+        Arrays.sort( llavesCadenas );
+        for( int i = 0; i < cadenas.length; i++ )
+        {
+            cadenas[ i ] = llavesCadenas[ i ].getSourceString( );
+        }
+    }
+
+    /**
+     * Retorna la llave de cotejo de una cadena: la guardada si la cadena está en el conjunto, o una calculada en el momento si no está
+     */
+    private CollationKey llave( String cadena )
+    {
+        CollationKey llave = llavesGuardadas.get( cadena );
+        return llave != null ? llave : cotejador.getCollationKey( cadena );
+    }
+
+    /**
+     * Retorna el comparador del conjunto. Compara según el Collator del conjunto, pero usando las llaves de cotejo ya calculadas. Dos comparadores de conjuntos con
+     * Collators iguales son iguales.
+     */
+    @Override
+    public Comparator<? super String> comparator( )
+    {
+        return comparador;
+    }
+
+    @Override
+    protected int comparar( String a, String b )
+    {
+        return llave( a ).compareTo( llave( b ) );
+    }
+
+    @Override
+    public int size( )
+    {
+        return llaves.size( );
+    }
+
+    @Override
+    public boolean isEmpty( )
+    {
+        return llaves.isEmpty( );
+    }
+
+    @Override
+    public boolean contains( Object objeto )
+    {
+        return objeto instanceof String && llaves.contains( llave( ( String )objeto ) );
+    }
+
+    @Override
+    public boolean add( String cadena )
+    {
+        CollationKey llave = llave( cadena );
+        if( !llaves.add( llave ) )
+        {
+            return false;
+        }
+        llavesGuardadas.put( cadena, llave );
+        modificaciones++;
+        return true;
+    }
+
+    @Override
+    public boolean remove( Object objeto )
+    {
+        if( !( objeto instanceof String ) )
+        {
+            return false;
+        }
+        // La cadena guardada puede ser otra igual según el Collator, así que se busca su llave para sacarla también de las llaves guardadas
+        CollationKey llave = llave( ( String )objeto );
+        CollationKey guardada = llaves.floor( llave );
+        if( guardada == null || guardada.compareTo( llave ) != 0 )
+        {
+            return false;
+        }
+        llaves.remove( guardada );
+        llavesGuardadas.remove( guardada.getSourceString( ) );
+        modificaciones++;
+        return true;
+    }
+
+    @Override
+    public void clear( )
+    {
+        if( !llaves.isEmpty( ) )
+        {
+            llaves.clear( );
+            llavesGuardadas.clear( );
+            modificaciones++;
+        }
+    }
+
+    @Override
+    protected Iterator<String> recorrerAscendente( String desde, boolean inclusivo )
+    {
+        return cadenas( desde == null ? llaves.iterator( ) : llaves.tailSet( llave( desde ), inclusivo ).iterator( ) );
+    }
+
+    @Override
+    protected Iterator<String> recorrerDescendente( String desde, boolean inclusivo )
+    {
+        return cadenas( desde == null ? llaves.descendingIterator( ) : llaves.headSet( llave( desde ), inclusivo ).descendingIterator( ) );
+    }
+
+    /**
+     * Convierte un iterador sobre llaves en un iterador sobre las cadenas de las que salieron
+     */
+    private static Iterator<String> cadenas( Iterator<CollationKey> iterador )
+    {
+        return new Iterator<String>( )
+        {
+            @Override
+            public boolean hasNext( )
+            {
+                return iterador.hasNext( );
+            }
+
+            @Override
+            public String next( )
+            {
+                return iterador.next( ).getSourceString( );
+            }
+        };
+    }
+
+    /**
+     * El comparador del conjunto: compara las llaves de cotejo de las cadenas en lugar de aplicar el Collator
+     */
+    private final class Comparador implements Comparator<String>
+    {
+        @Override
+        public int compare( String a, String b )
+        {
+            return llave( a ).compareTo( llave( b ) );
+        }
+
+        private Collator getCotejadorDelConjunto( )
+        {
+            return cotejador;
+        }
+
+        @Override
+        public boolean equals( Object objeto )
+        {
+            return objeto instanceof Comparador && cotejador.equals( ( ( Comparador )objeto ).getCotejadorDelConjunto( ) );
+        }
+
+        @Override
+        public int hashCode( )
+        {
+            return cotejador.hashCode( );
+        }
+    }
+}
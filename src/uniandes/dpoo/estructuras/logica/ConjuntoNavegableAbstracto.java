@@ -0,0 +1,534 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.SortedSet;
+
+/**
+ * Una base para implementar conjuntos ordenados de cadenas (NavigableSet) sin tener que programar cada uno de los métodos de la interfaz.
+ *
+ * Las subclases sólo tienen que saber recorrer el conjunto hacia adelante y hacia atrás a partir de cualquier cadena, decir cuántas cadenas tienen y, si se pueden
+ * modificar, agregar y eliminar cadenas. Con eso esta clase construye la navegación (ceiling, floor, higher, lower, first, last), las vistas de rangos (subSet, headSet,
+ * tailSet), la vista en orden inverso (descendingSet) y unos iteradores que permiten eliminar y que detectan modificaciones concurrentes.
+ *
+ * Por defecto el conjunto no se puede modificar: add y remove lanzan UnsupportedOperationException. Las subclases modificables deben sobrescribirlos e incrementar el
+ * atributo modificaciones cada vez que cambie el contenido.
+ */
+public abstract class ConjuntoNavegableAbstracto extends AbstractSet<String> implements NavigableSet<String>
+{
+    /**
+     * La cantidad de veces que ha cambiado el contenido del conjunto. Los iteradores lo usan para detectar modificaciones hechas por fuera de ellos.
+     */
+    protected int modificaciones;
+
+    /**
+     * Retorna un iterador que recorre el conjunto en su orden, empezando en la cadena indicada.
+     *
+     * El iterador retornado no necesita soportar remove ni detectar modificaciones: de eso se encarga esta clase.
+     * @param desde La cadena desde donde empieza el recorrido, o null para empezar en la primera cadena del conjunto
+     * @param inclusivo Indica si la cadena 'desde' se debe incluir en el recorrido, en caso de que haga parte del conjunto
+     * @return Un iterador sobre las cadenas desde 'desde' en adelante
+     */
+    protected abstract Iterator<String> recorrerAscendente( String desde, boolean inclusivo );
+
+    /**
+     * Retorna un iterador que recorre el conjunto en orden inverso, empezando en la cadena indicada.
+     *
+     * El iterador retornado no necesita soportar remove ni detectar modificaciones: de eso se encarga esta clase.
+     * @param desde La cadena desde donde empieza el recorrido, o null para empezar en la última cadena del conjunto
+     * @param inclusivo Indica si la cadena 'desde' se debe incluir en el recorrido, en caso de que haga parte del conjunto
+     * @return Un iterador sobre las cadenas desde 'desde' hacia atrás
+     */
+    protected abstract Iterator<String> recorrerDescendente( String desde, boolean inclusivo );
+
+    /**
+     * Retorna la cantidad de modificaciones que se han hecho sobre el conjunto. Las vistas retornan las del conjunto que las contiene.
+     * @return La cantidad de modificaciones
+     */
+    protected int getModificaciones( )
+    {
+        return modificaciones;
+    }
+
+    /**
+     * Compara dos cadenas usando el orden del conjunto
+     * @param a La primera cadena
+     * @param b La segunda cadena
+     * @return Un número negativo, cero o positivo si 'a' va antes, en la misma posición o después de 'b'
+     */
+    protected int comparar( String a, String b )
+    {
+        Comparator<? super String> comparador = comparator( );
+        return comparador == null ? a.compareTo( b ) : comparador.compare( a, b );
+    }
+
+    @Override
+    public Comparator<? super String> comparator( )
+    {
+        return null;
+    }
+
+    @Override
+    public boolean add( String cadena )
+    {
+        throw new UnsupportedOperationException( "El conjunto no se puede modificar" );
+    }
+
+    @Override
+    public boolean remove( Object objeto )
+    {
+        throw new UnsupportedOperationException( "El conjunto no se puede modificar" );
+    }
+
+    @Override
+    public boolean contains( Object objeto )
+    {
+        if( !( objeto instanceof String ) )
+        {
+            return false;
+        }
+        String cadena = ( String )objeto;
+        String techo = ceiling( cadena );
+        return techo != null && comparar( techo, cadena ) == 0;
+    }
+
+    @Override
+    public boolean isEmpty( )
+    {
+        return !recorrerAscendente( null, true ).hasNext( );
+    }
+
+    @Override
+    public Iterator<String> iterator( )
+    {
+        return new Iterador( true, recorrerAscendente( null, true ) );
+    }
+
+    @Override
+    public Iterator<String> descendingIterator( )
+    {
+        return new Iterador( false, recorrerDescendente( null, true ) );
+    }
+
+    @Override
+    public String first( )
+    {
+        Iterator<String> iterador = recorrerAscendente( null, true );
+        if( !iterador.hasNext( ) )
+        {
+            throw new NoSuchElementException( );
+        }
+        return iterador.next( );
+    }
+
+    @Override
+    public String last( )
+    {
+        Iterator<String> iterador = recorrerDescendente( null, true );
+        if( !iterador.hasNext( ) )
+        {
+            throw new NoSuchElementException( );
+        }
+        return iterador.next( );
+    }
+
+    @Override
+    public String ceiling( String cadena )
+    {
+        return siguiente( recorrerAscendente( Objects.requireNonNull( cadena ), true ) );
+    }
+
+    @Override
+    public String higher( String cadena )
+    {
+        return siguiente( recorrerAscendente( Objects.requireNonNull( cadena ), false ) );
+    }
+
+    @Override
+    public String floor( String cadena )
+    {
+        return siguiente( recorrerDescendente( Objects.requireNonNull( cadena ), true ) );
+    }
+
+    @Override
+    public String lower( String cadena )
+    {
+        return siguiente( recorrerDescendente( Objects.requireNonNull( cadena ), false ) );
+    }
+
+    @Override
+    public String pollFirst( )
+    {
+        String primera = siguiente( recorrerAscendente( null, true ) );
+        if( primera != null )
+        {
+            remove( primera );
+        }
+        return primera;
+    }
+
+    @Override
+    public String pollLast( )
+    {
+        String ultima = siguiente( recorrerDescendente( null, true ) );
+        if( ultima != null )
+        {
+            remove( ultima );
+        }
+        return ultima;
+    }
+
+    @Override
+    public NavigableSet<String> subSet( String desde, boolean incluirDesde, String hasta, boolean incluirHasta )
+    {
+        if( comparar( Objects.requireNonNull( desde ), Objects.requireNonNull( hasta ) ) > 0 )
+        {
+            throw new IllegalArgumentException( "El límite inferior es mayor que el superior" );
+        }
+        return new VistaRango( this, desde, incluirDesde, hasta, incluirHasta );
+    }
+
+    @Override
+    public NavigableSet<String> headSet( String hasta, boolean incluirHasta )
+    {
+        return new VistaRango( this, null, true, Objects.requireNonNull( hasta ), incluirHasta );
+    }
+
+    @Override
+    public NavigableSet<String> tailSet( String desde, boolean incluirDesde )
+    {
+        return new VistaRango( this, Objects.requireNonNull( desde ), incluirDesde, null, true );
+    }
+
+    @Override
+    public SortedSet<String> subSet( String desde, String hasta )
+    {
+        return subSet( desde, true, hasta, false );
+    }
+
+    @Override
+    public SortedSet<String> headSet( String hasta )
+    {
+        return headSet( hasta, false );
+    }
+
+    @Override
+    public SortedSet<String> tailSet( String desde )
+    {
+        return tailSet( desde, true );
+    }
+
+    @Override
+    public NavigableSet<String> descendingSet( )
+    {
+        return new VistaDescendente( this );
+    }
+
+    private static String siguiente( Iterator<String> iterador )
+    {
+        return iterador.hasNext( ) ? iterador.next( ) : null;
+    }
+
+    /**
+     * Un iterador que permite eliminar la última cadena retornada y que detecta las modificaciones hechas sobre el conjunto por fuera de él.
+     *
+     * Para eliminar usa el método remove del conjunto y luego continúa el recorrido desde la cadena eliminada, así que funciona con cualquier subclase.
+     */
+    private final class Iterador implements Iterator<String>
+    {
+        private final boolean ascendente;
+
+        private Iterator<String> actual;
+
+        private String ultima;
+
+        private int modificacionesEsperadas;
+
+        private Iterador( boolean ascendente, Iterator<String> actual )
+        {
+            this.ascendente = ascendente;
+            this.actual = actual;
+            this.modificacionesEsperadas = getModificaciones( );
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            return actual.hasNext( );
+        }
+
+        @Override
+        public String next( )
+        {
+            verificarModificaciones( );
+            ultima = actual.next( );
+            return ultima;
+        }
+
+        @Override
+        public void remove( )
+        {
+            if( ultima == null )
+            {
+                throw new IllegalStateException( );
+            }
+            verificarModificaciones( );
+            ConjuntoNavegableAbstracto.this.remove( ultima );
+            actual = ascendente ? recorrerAscendente( ultima, false ) : recorrerDescendente( ultima, false );
+            ultima = null;
+            modificacionesEsperadas = getModificaciones( );
+        }
+
+        private void verificarModificaciones( )
+        {
+            if( getModificaciones( ) != modificacionesEsperadas )
+            {
+                throw new ConcurrentModificationException( );
+            }
+        }
+    }
+
+    /**
+     * Un iterador que deja de retornar cadenas cuando llega a un límite
+     */
+    private static final class IteradorLimitado implements Iterator<String>
+    {
+        private final Iterator<String> base;
+
+        private final VistaRango vista;
+
+        private final boolean ascendente;
+
+        private String siguiente;
+
+        private IteradorLimitado( Iterator<String> base, VistaRango vista, boolean ascendente )
+        {
+            this.base = base;
+            this.vista = vista;
+            this.ascendente = ascendente;
+            avanzar( );
+        }
+
+        private void avanzar( )
+        {
+            siguiente = null;
+            if( base.hasNext( ) )
+            {
+                String candidata = base.next( );
+                boolean dentro = ascendente ? !vista.despuesDelFinal( candidata ) : !vista.antesDelInicio( candidata );
+                if( dentro )
+                {
+                    siguiente = candidata;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            return siguiente != null;
+        }
+
+        @Override
+        public String next( )
+        {
+            if( siguiente == null )
+            {
+                throw new NoSuchElementException( );
+            }
+            String resultado = siguiente;
+            avanzar( );
+            return resultado;
+        }
+    }
+
+    /**
+     * La vista de un rango de otro conjunto. Los límites null indican que el rango no está limitado por ese lado.
+     */
+    private static final class VistaRango extends ConjuntoNavegableAbstracto
+    {
+        private final ConjuntoNavegableAbstracto conjunto;
+
+        private final String desde;
+
+        private final boolean incluirDesde;
+
+        private final String hasta;
+
+        private final boolean incluirHasta;
+
+        private VistaRango( ConjuntoNavegableAbstracto conjunto, String desde, boolean incluirDesde, String hasta, boolean incluirHasta )
+        {
+            this.conjunto = conjunto;
+            this.desde = desde;
+            this.incluirDesde = incluirDesde;
+            this.hasta = hasta;
+            this.incluirHasta = incluirHasta;
+        }
+
+        private boolean antesDelInicio( String cadena )
+        {
+            if( desde == null )
+            {
+                return false;
+            }
+            int comparacion = comparar( cadena, desde );
+            return comparacion < 0 || ( comparacion == 0 && !incluirDesde );
+        }
+
+        private boolean despuesDelFinal( String cadena )
+        {
+            if( hasta == null )
+            {
+                return false;
+            }
+            int comparacion = comparar( cadena, hasta );
+            return comparacion > 0 || ( comparacion == 0 && !incluirHasta );
+        }
+
+        private boolean enRango( String cadena )
+        {
+            return !antesDelInicio( cadena ) && !despuesDelFinal( cadena );
+        }
+
+        @Override
+        protected Iterator<String> recorrerAscendente( String inicio, boolean inclusivo )
+        {
+            if( inicio == null || antesDelInicio( inicio ) )
+            {
+                return new IteradorLimitado( conjunto.recorrerAscendente( desde, incluirDesde ), this, true );
+            }
+            return new IteradorLimitado( conjunto.recorrerAscendente( inicio, inclusivo ), this, true );
+        }
+
+        @Override
+        protected Iterator<String> recorrerDescendente( String inicio, boolean inclusivo )
+        {
+            if( inicio == null || despuesDelFinal( inicio ) )
+            {
+                return new IteradorLimitado( conjunto.recorrerDescendente( hasta, incluirHasta ), this, false );
+            }
+            return new IteradorLimitado( conjunto.recorrerDescendente( inicio, inclusivo ), this, false );
+        }
+
+        @Override
+        protected int getModificaciones( )
+        {
+            return conjunto.getModificaciones( );
+        }
+
+        @Override
+        public Comparator<? super String> comparator( )
+        {
+            return conjunto.comparator( );
+        }
+
+        @Override
+        public int size( )
+        {
+            int cantidad = 0;
+            Iterator<String> iterador = recorrerAscendente( null, true );
+            while( iterador.hasNext( ) )
+            {
+                iterador.next( );
+                cantidad++;
+            }
+            return cantidad;
+        }
+
+        @Override
+        public boolean contains( Object objeto )
+        {
+            return objeto instanceof String && enRango( ( String )objeto ) && conjunto.contains( objeto );
+        }
+
+        @Override
+        public boolean add( String cadena )
+        {
+            if( !enRango( cadena ) )
+            {
+                throw new IllegalArgumentException( "La cadena está fuera del rango" );
+            }
+            return conjunto.add( cadena );
+        }
+
+        @Override
+        public boolean remove( Object objeto )
+        {
+            return objeto instanceof String && enRango( ( String )objeto ) && conjunto.remove( objeto );
+        }
+    }
+
+    /**
+     * La vista de otro conjunto en orden inverso. Se construye intercambiando los recorridos ascendente y descendente y usando el comparador inverso.
+     */
+    private static final class VistaDescendente extends ConjuntoNavegableAbstracto
+    {
+        private final ConjuntoNavegableAbstracto conjunto;
+
+        private VistaDescendente( ConjuntoNavegableAbstracto conjunto )
+        {
+            this.conjunto = conjunto;
+        }
+
+        @Override
+        protected Iterator<String> recorrerAscendente( String desde, boolean inclusivo )
+        {
+            return conjunto.recorrerDescendente( desde, inclusivo );
+        }
+
+        @Override
+        protected Iterator<String> recorrerDescendente( String desde, boolean inclusivo )
+        {
+            return conjunto.recorrerAscendente( desde, inclusivo );
+        }
+
+        @Override
+        protected int getModificaciones( )
+        {
+            return conjunto.getModificaciones( );
+        }
+
+        @Override
+        public Comparator<? super String> comparator( )
+        {
+            return Collections.reverseOrder( conjunto.comparator( ) );
+        }
+
+        @Override
+        public NavigableSet<String> descendingSet( )
+        {
+            return conjunto;
+        }
+
+        @Override
+        public int size( )
+        {
+            return conjunto.size( );
+        }
+
+        @Override
+        public boolean contains( Object objeto )
+        {
+            return conjunto.contains( objeto );
+        }
+
+        @Override
+        public boolean add( String cadena )
+        {
+            return conjunto.add( cadena );
+        }
+
+        @Override
+        public boolean remove( Object objeto )
+        {
+            return conjunto.remove( objeto );
+        }
+    }
+}
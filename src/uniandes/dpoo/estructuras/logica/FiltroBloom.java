@@ -0,0 +1,150 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Un filtro de Bloom sobre las cadenas de un conjunto: permite descartar rápidamente cadenas que no están en el conjunto, sin recorrer el árbol.
+ *
+ * Si el filtro dice que una cadena no puede estar, seguro no está. Si dice que puede estar, hay que buscarla en el conjunto, porque con una probabilidad pequeña (cerca
+ * del 1% cuando el filtro no está saturado) se equivoca.
+ *
+ * Un filtro de Bloom no permite quitar cadenas: cuando se elimina una cadena del conjunto sus bits se quedan encendidos. Por eso el filtro cuenta tanto las cadenas
+ * agregadas como las eliminadas, y cuando entre las dos superan su capacidad se declara saturado. Un filtro saturado sigue siendo correcto, pero descarta menos cadenas,
+ * y se debe reconstruir a partir del contenido del conjunto.
+ */
+public class FiltroBloom implements IndiceCadenas
+{
+    /**
+     * La cantidad de bits que se reservan por cada cadena de la capacidad del filtro
+     */
+    private static final int BITS_POR_CADENA = 10;
+
+    /**
+     * La cantidad de bits que se encienden por cada cadena
+     */
+    private static final int FUNCIONES = 7;
+
+    /**
+     * La capacidad mínima de un filtro
+     */
+    private static final int CAPACIDAD_MINIMA = 64;
+
+    /**
+     * Los bits del filtro
+     */
+    private long[] bits;
+
+    /**
+     * La cantidad de bits del filtro menos uno. La cantidad de bits siempre es una potencia de dos.
+     */
+    private int mascara;
+
+    /**
+     * La cantidad de cadenas que el filtro puede recibir antes de saturarse
+     */
+    private int capacidad;
+
+    /**
+     * La cantidad de cadenas agregadas más la cantidad de cadenas eliminadas desde que se construyó el filtro
+     */
+    private int registradas;
+
+    /**
+     * Construye un filtro vacío con la capacidad mínima
+     */
+    public FiltroBloom( )
+    {
+        dimensionar( CAPACIDAD_MINIMA );
+    }
+
+    /**
+     * Indica si una cadena puede estar en el conjunto
+     * @param cadena La cadena buscada
+     * @return False si la cadena con seguridad no está en el conjunto; true si puede estar
+     */
+    public boolean puedeContener( String cadena )
+    {
+        long hash = mezclar( cadena.hashCode( ) );
+        int h1 = ( int )hash;
+        int h2 = ( int ) ( hash >>> 32 ) | 1;
+        for( int i = 0; i < FUNCIONES; i++ )
+        {
+            int bit = ( h1 + i * h2 ) & mascara;
+            if( ( bits[ bit >>> 6 ] & ( 1L << bit ) ) == 0 )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indica si el filtro ya recibió más cadenas de las que soporta y se debería reconstruir
+     * @return True si el filtro está saturado
+     */
+    public boolean estaSaturado( )
+    {
+        return registradas > capacidad;
+    }
+
+    /**
+     * Vuelve a construir el filtro a partir de las cadenas que están en el conjunto, con el doble de capacidad de la necesaria
+     * @param cadenas Las cadenas que están actualmente en el conjunto
+     */
+    public void reconstruir( Collection<String> cadenas )
+    {
+        dimensionar( Math.max( CAPACIDAD_MINIMA, 2 * cadenas.size( ) ) );
+        for( String cadena : cadenas )
+        {
+            cadenaAgregada( cadena );
+        }
+    }
+
+    private void dimensionar( int capacidadMinima )
+    {
+        int cantidadBits = Integer.highestOneBit( capacidadMinima * BITS_POR_CADENA - 1 ) << 1;
+        bits = new long[Math.max( 1, cantidadBits >>> 6 )];
+        mascara = cantidadBits - 1;
+        capacidad = cantidadBits / BITS_POR_CADENA;
+        registradas = 0;
+    }
+
+    /**
+     * Mezcla los bits del hash de una cadena para obtener dos valores independientes de 32 bits
+     */
+    private static long mezclar( int hash )
+    {
+        long mezcla = hash * 0x9E3779B97F4A7C15L;
+        mezcla ^= mezcla >>> 29;
+        mezcla *= 0xBF58476D1CE4E5B9L;
+        return mezcla ^ ( mezcla >>> 32 );
+    }
+
+    @Override
+    public void cadenaAgregada( String cadena )
+    {
+        long hash = mezclar( cadena.hashCode( ) );
+        int h1 = ( int )hash;
+        int h2 = ( int ) ( hash >>> 32 ) | 1;
+        for( int i = 0; i < FUNCIONES; i++ )
+        {
+            int bit = ( h1 + i * h2 ) & mascara;
+            bits[ bit >>> 6 ] |= 1L << bit;
+        }
+        registradas++;
+    }
+
+    @Override
+    public void cadenaEliminada( String cadena )
+    {
+        registradas++;
+    }
+
+    @Override
+    public void conjuntoVaciado( )
+    {
+        Arrays.fill( bits, 0L );
+        registradas = 0;
+    }
+}
@@ -0,0 +1,26 @@
+package uniandes.dpoo.estructuras.logica;
+
+/**
+ * Un índice adicional sobre las cadenas de un ConjuntoCadenasIndexado.
+ *
+ * El conjunto le avisa al índice cada vez que cambia su contenido, así que el índice nunca tiene que recorrer el conjunto para mantenerse al día.
+ */
+public interface IndiceCadenas
+{
+    /**
+     * Avisa que una cadena que no estaba en el conjunto se agregó
+     * @param cadena La cadena agregada
+     */
+    void cadenaAgregada( String cadena );
+
+    /**
+     * Avisa que una cadena que estaba en el conjunto se eliminó
+     * @param cadena La cadena eliminada
+     */
+    void cadenaEliminada( String cadena );
+
+    /**
+     * Avisa que se eliminaron todas las cadenas del conjunto
+     */
+    void conjuntoVaciado( );
+}
@@ -0,0 +1,75 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Un índice que permite encontrar las cadenas de un conjunto sin tener en cuenta las mayúsculas y minúsculas.
+ *
+ * Cada cadena se guarda bajo una llave donde todas sus letras están en la misma forma, de manera que dos cadenas tienen la misma llave exactamente cuando
+ * compareToIgnoreCase dice que son iguales. Como varias cadenas del conjunto pueden tener la misma llave ("casa" y "CASA"), cada llave guarda las cadenas originales en
+ * orden.
+ */
+public class IndiceSinMayusculas implements IndiceCadenas
+{
+    /**
+     * Las cadenas originales, agrupadas por su llave sin mayúsculas ni minúsculas
+     */
+    private final Map<String, NavigableSet<String>> originales;
+
+    /**
+     * Construye un índice vacío
+     */
+    public IndiceSinMayusculas( )
+    {
+        originales = new HashMap<String, NavigableSet<String>>( );
+    }
+
+    /**
+     * Calcula la llave de una cadena: la misma cadena con cada letra pasada a mayúscula y luego a minúscula, igual que lo hace compareToIgnoreCase
+     * @param cadena La cadena
+     * @return La llave de la cadena
+     */
+    public static String calcularLlave( String cadena )
+    {
+        StringBuilder llave = new StringBuilder( cadena.length( ) );
+        cadena.codePoints( ).forEach( letra -> llave.appendCodePoint( Character.toLowerCase( Character.toUpperCase( letra ) ) ) );
+        return llave.toString( );
+    }
+
+    /**
+     * Busca una cadena del conjunto que sea igual a la cadena dada sin tener en cuenta mayúsculas ni minúsculas
+     * @param cadena La cadena buscada
+     * @return La menor de las cadenas del conjunto que coinciden, o null si ninguna coincide
+     */
+    public String buscar( String cadena )
+    {
+        NavigableSet<String> coincidencias = originales.get( calcularLlave( cadena ) );
+        return coincidencias == null ? null : coincidencias.first( );
+    }
+
+    @Override
+    public void cadenaAgregada( String cadena )
+    {
+        originales.computeIfAbsent( calcularLlave( cadena ), llave -> new TreeSet<String>( ) ).add( cadena );
+    }
+
+    @Override
+    public void cadenaEliminada( String cadena )
+    {
+        String llave = calcularLlave( cadena );
+        NavigableSet<String> coincidencias = originales.get( llave );
+        if( coincidencias != null && coincidencias.remove( cadena ) && coincidencias.isEmpty( ) )
+        {
+            originales.remove( llave );
+        }
+    }
+
+    @Override
+    public void conjuntoVaciado( )
+    {
+        originales.clear( );
+    }
+}
@@ -0,0 +1,112 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Una copia inmutable y ordenada de las cadenas de un conjunto, tomada en un momento dado.
+ *
+ * Como no se puede modificar, la misma instantánea se puede compartir entre todos los que necesiten leer el conjunto mientras éste no cambie. Permite acceder en tiempo
+ * constante a cualquier posición, tanto en el orden del conjunto como en el orden inverso.
+ */
+public class InstantaneaCadenas extends AbstractList<String> implements RandomAccess
+{
+    /**
+     * Las cadenas de la instantánea, en el orden del conjunto
+     */
+    private final String[] cadenas;
+
+    /**
+     * La versión del conjunto a la que corresponde la instantánea
+     */
+    private final int version;
+
+    /**
+     * Construye una instantánea a partir de un arreglo que ya está ordenado. El arreglo no se copia, así que no se debe modificar después.
+     * @param cadenas Las cadenas del conjunto, en orden
+     * @param version La versión del conjunto a la que corresponde la instantánea
+     */
+    public InstantaneaCadenas( String[] cadenas, int version )
+    {
+        this.cadenas = cadenas;
+        this.version = version;
+    }
+
+    /**
+     * Retorna la versión del conjunto a la que corresponde la instantánea
+     * @return La versión del conjunto
+     */
+    public int getVersion( )
+    {
+        return version;
+    }
+
+    /**
+     * Retorna el arreglo de la instantánea, sin copiarlo, para las operaciones que lo recorren directamente. No se debe modificar.
+     * @return Las cadenas de la instantánea, en orden
+     */
+    String[] getArreglo( )
+    {
+        return cadenas;
+    }
+
+    @Override
+    public String get( int posicion )
+    {
+        return cadenas[ posicion ];
+    }
+
+    /**
+     * Retorna la cadena que está en una posición contando desde el final, es decir en orden inverso
+     * @param posicion La posición en orden inverso. La posición 0 corresponde a la última cadena.
+     * @return La cadena en esa posición
+     */
+    public String getInvertida( int posicion )
+    {
+        return cadenas[ cadenas.length - 1 - posicion ];
+    }
+
+    @Override
+    public int size( )
+    {
+        return cadenas.length;
+    }
+
+    @Override
+    public Object[] toArray( )
+    {
+        return cadenas.clone( );
+    }
+
+    /**
+     * Retorna una vista de la instantánea en orden inverso. La vista no copia las cadenas.
+     * @return Una lista inmutable con las cadenas en orden inverso
+     */
+    public List<String> invertida( )
+    {
+        return new Invertida( );
+    }
+
+    /**
+     * La vista en orden inverso de una instantánea
+     */
+    private final class Invertida extends AbstractList<String> implements RandomAccess
+    {
+        private Invertida( )
+        {
+        }
+
+        @Override
+        public String get( int posicion )
+        {
+            return getInvertida( posicion );
+        }
+
+        @Override
+        public int size( )
+        {
+            return cadenas.length;
+        }
+    }
+}
@@ -0,0 +1,579 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Una lista de enteros que guarda sus valores en un arreglo de enteros primitivos (int[]) en lugar de guardar objetos Integer.
+ *
+ * Además de las operaciones de una lista, esta clase mantiene una huella del contenido: un hash polinomial que depende de los valores y de su orden. La huella se actualiza
+ * directamente cuando se agrega un valor al final de la lista y se vuelve a calcular sólo cuando se consulta después de cualquier otra modificación.
+ *
+ * Si dos secuencias tienen huellas diferentes, seguro son diferentes. Si tienen la misma huella, todavía hay que compararlas elemento por elemento.
+ *
+ * La lista también puede trabajar en modo diferido: las transformaciones y filtros que se le pidan se guardan en lugar de ejecutarse, y se ejecutan todos juntos en un solo
+ * recorrido la próxima vez que se consulte o se modifique la lista de otra forma.
+ */
+public class ListaEnteros extends AbstractList<Integer> implements RandomAccess
+{
+    /**
+     * La base del polinomio usado para calcular las huellas
+     */
+    private static final long BASE_HUELLA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * La capacidad que tiene el arreglo de una lista nueva cuando no se indica otra
+     */
+    private static final int CAPACIDAD_INICIAL = 10;
+
+    /**
+     * El arreglo donde se guardan los valores. Sólo las primeras 'cantidad' posiciones hacen parte de la lista.
+     */
+    private int[] elementos;
+
+    /**
+     * La cantidad de valores que hay en la lista
+     */
+    private int cantidad;
+
+    /**
+     * La huella del contenido de la lista. Sólo es válida si huellaVigente es true.
+     */
+    private long huella;
+
+    /**
+     * Indica si la huella corresponde al contenido actual de la lista
+     */
+    private boolean huellaVigente;
+
+    /**
+     * Indica si las transformaciones y los filtros se deben guardar en lugar de ejecutarse inmediatamente
+     */
+    private boolean modoDiferido;
+
+    /**
+     * Las transformaciones y filtros que todavía no se han aplicado, en el orden en el que se pidieron
+     */
+    private List<Paso> pendientes;
+
+    /**
+     * Crea una lista de enteros vacía
+     */
+    public ListaEnteros( )
+    {
+        this( CAPACIDAD_INICIAL );
+    }
+
+    /**
+     * Crea una lista de enteros vacía con espacio para la cantidad de valores indicada
+     * @param capacidad La cantidad de valores que se espera guardar en la lista
+     */
+    public ListaEnteros( int capacidad )
+    {
+        elementos = new int[Math.max( capacidad, 0 )];
+        cantidad = 0;
+        huella = 0;
+        huellaVigente = true;
+        modoDiferido = false;
+        pendientes = new ArrayList<Paso>( );
+    }
+
+    /**
+     * Calcula la huella de un arreglo de enteros, usando el mismo polinomio que usa la lista.
+     *
+     * Si se va a comparar el mismo arreglo contra muchas listas, vale la pena calcular su huella una sola vez.
+     * @param valores El arreglo de enteros
+     * @return La huella del arreglo
+     */
+    public static long calcularHuella( int[] valores )
+    {
+        return calcularHuella( valores, valores.length );
+    }
+
+    private static long calcularHuella( int[] valores, int cantidad )
+    {
+        long resultado = 0;
+        for( int i = 0; i < cantidad; i++ )
+        {
+            resultado = resultado * BASE_HUELLA + valores[ i ];
+        }
+        return resultado;
+    }
+
+    /**
+     * Retorna la huella del contenido actual de la lista. Si la lista se modificó de una forma distinta a agregar al final, la huella se recalcula en este momento.
+     * @return La huella de la lista
+     */
+    public long getHuella( )
+    {
+        aplicarPendientes( );
+        if( !huellaVigente )
+        {
+            huella = calcularHuella( elementos, cantidad );
+            huellaVigente = true;
+        }
+        return huella;
+    }
+
+    /**
+     * Verifica si la lista tiene exactamente los mismos valores que el arreglo, en el mismo orden
+     * @param otroArreglo El arreglo con el que se compara
+     * @return True si la lista y el arreglo tienen los mismos elementos en el mismo orden
+     */
+    public boolean esIgual( int[] otroArreglo )
+    {
+        aplicarPendientes( );
+        return Arrays.equals( elementos, 0, cantidad, otroArreglo, 0, otroArreglo.length );
+    }
+
+    /**
+     * Verifica si la lista tiene exactamente los mismos valores que el arreglo, en el mismo orden, usando la huella del arreglo para descartar rápidamente los arreglos
+     * diferentes.
+     * @param otroArreglo El arreglo con el que se compara
+     * @param huellaOtro La huella del arreglo, calculada con calcularHuella
+     * @return True si la lista y el arreglo tienen los mismos elementos en el mismo orden
+     */
+    public boolean esIgual( int[] otroArreglo, long huellaOtro )
+    {
+        aplicarPendientes( );
+        if( cantidad != otroArreglo.length || getHuella( ) != huellaOtro )
+        {
+            return false;
+        }
+        return esIgual( otroArreglo );
+    }
+
+    /**
+     * Retorna un arreglo nuevo con los valores de la lista
+     * @return Un arreglo con los valores de la lista, en el mismo orden
+     */
+    public int[] aArreglo( )
+    {
+        aplicarPendientes( );
+        return Arrays.copyOf( elementos, cantidad );
+    }
+
+    /**
+     * Organiza los valores de la lista de MAYOR a MENOR directamente sobre el arreglo de enteros primitivos.
+     * @param paralelo Indica si el ordenamiento se debe repartir entre varios procesadores
+     */
+    public void ordenarDescendente( boolean paralelo )
+    {
+        aplicarPendientes( );
+        if( paralelo )
+        {
+            Arrays.parallelSort( elementos, 0, cantidad );
+        }
+        else
+        {
+            Arrays.sort( elementos, 0, cantidad );
+        }
+        for( int i = 0, j = cantidad - 1; i < j; i++, j-- )
+        {
+            int temporal = elementos[ i ];
+            elementos[ i ] = elementos[ j ];
+            elementos[ j ] = temporal;
+        }
+        modCount++;
+        huellaVigente = false;
+    }
+
+    /**
+     * Activa o desactiva el modo diferido. Al desactivarlo se aplican las operaciones que estuvieran pendientes.
+     * @param diferir True para guardar las transformaciones y filtros en lugar de ejecutarlos inmediatamente
+     */
+    public void setModoDiferido( boolean diferir )
+    {
+        modoDiferido = diferir;
+        if( !diferir )
+        {
+            aplicarPendientes( );
+        }
+    }
+
+    /**
+     * Indica si la lista está en modo diferido
+     * @return True si las transformaciones y filtros se guardan en lugar de ejecutarse inmediatamente
+     */
+    public boolean isModoDiferido( )
+    {
+        return modoDiferido;
+    }
+
+    /**
+     * Reemplaza cada valor de la lista por el resultado de aplicarle la transformación. En modo diferido, la transformación sólo se guarda.
+     * @param transformacion La función que se aplica a cada valor
+     */
+    public void transformar( IntUnaryOperator transformacion )
+    {
+        pendientes.add( new Paso( transformacion, null ) );
+        if( !modoDiferido )
+        {
+            aplicarInmediatamente( );
+        }
+    }
+
+    /**
+     * Deja en la lista sólo los valores que cumplen la condición, conservando su orden. En modo diferido, el filtro sólo se guarda.
+     * @param condicion La condición que deben cumplir los valores que se conservan
+     */
+    public void filtrar( IntPredicate condicion )
+    {
+        pendientes.add( new Paso( null, condicion ) );
+        if( !modoDiferido )
+        {
+            aplicarInmediatamente( );
+        }
+    }
+
+    /**
+     * Cuenta cuántas veces aparece un valor en la lista. Si hay operaciones pendientes, se aplican y se cuenta en el mismo recorrido.
+     * @param valor El valor buscado
+     * @return La cantidad de veces que aparece el valor
+     */
+    public int contar( int valor )
+    {
+        int[] apariciones = new int[1];
+        IntConsumer contador = v -> {
+            if( v == valor )
+            {
+                apariciones[ 0 ]++;
+            }
+        };
+        if( pendientes.isEmpty( ) )
+        {
+            for( int i = 0; i < cantidad; i++ )
+            {
+                contador.accept( elementos[ i ] );
+            }
+        }
+        else
+        {
+            aplicarPendientes( contador );
+        }
+        return apariciones[ 0 ];
+    }
+
+    /**
+     * Aplica el paso que se acaba de agregar fuera del modo diferido. Si falla, el paso se descarta, así que la lista queda como estaba antes de pedirlo.
+     */
+    private void aplicarInmediatamente( )
+    {
+        try
+        {
+            aplicarPendientes( );
+        }
+        catch( RuntimeException e )
+        {
+            pendientes.remove( pendientes.size( ) - 1 );
+            throw e;
+        }
+    }
+
+    /**
+     * Aplica en un solo recorrido todas las transformaciones y filtros pendientes
+     */
+    private void aplicarPendientes( )
+    {
+        if( !pendientes.isEmpty( ) )
+        {
+            aplicarPendientes( valor -> {
+                // Sólo se necesita aplicar las operaciones, no observar los valores
+            } );
+        }
+    }
+
+    /**
+     * Aplica en un solo recorrido todas las transformaciones y filtros pendientes, compactando los valores cuando algún filtro descarta valores.
+     *
+     * Los valores nuevos se escriben en otro arreglo, que sólo reemplaza al de la lista cuando todos los pasos terminaron. Si algún paso lanza una excepción, la lista
+     * conserva su contenido y sus operaciones pendientes.
+     * @param observador Recibe cada valor que queda en la lista, ya transformado
+     */
+    private void aplicarPendientes( IntConsumer observador )
+    {
+        Paso[] pasos = pendientes.toArray( new Paso[0] );
+        int[] resultado = new int[elementos.length];
+        int destino = 0;
+        for( int i = 0; i < cantidad; i++ )
+        {
+            int valor = elementos[ i ];
+            boolean conservar = true;
+            for( int j = 0; j < pasos.length && conservar; j++ )
+            {
+                if( pasos[ j ].filtro != null )
+                {
+                    conservar = pasos[ j ].filtro.test( valor );
+                }
+                else
+                {
+                    valor = pasos[ j ].transformacion.applyAsInt( valor );
+                }
+            }
+            if( conservar )
+            {
+                resultado[ destino ] = valor;
+                destino++;
+                observador.accept( valor );
+            }
+        }
+        elementos = resultado;
+        pendientes.clear( );
+        if( destino != cantidad )
+        {
+            cantidad = destino;
+            modCount++;
+        }
+        huellaVigente = false;
+    }
+
+    /**
+     * Retorna un IntStream que recorre directamente el arreglo de la lista, sin copiarlo ni convertir los valores a Integer.
+     *
+     * El stream se puede volver paralelo: el arreglo se divide en mitades de tamaño conocido. Si la lista cambia de tamaño o se reorganiza mientras se recorre el stream,
+     * se lanza una ConcurrentModificationException.
+     * @return Un stream con los valores de la lista
+     */
+    public IntStream flujo( )
+    {
+        return StreamSupport.intStream( spliterator( ), false );
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator( )
+    {
+        return new DivisorEnteros( 0, -1, 0 );
+    }
+
+    /**
+     * Agrega un valor al final de la lista sin necesidad de construir un objeto Integer
+     * @param valor El valor que se va a agregar
+     */
+    public void agregar( int valor )
+    {
+        aplicarPendientes( );
+        asegurarCapacidad( cantidad + 1 );
+        elementos[ cantidad ] = valor;
+        cantidad++;
+        modCount++;
+        if( huellaVigente )
+        {
+            huella = huella * BASE_HUELLA + valor;
+        }
+    }
+
+    @Override
+    public Integer get( int posicion )
+    {
+        aplicarPendientes( );
+        verificarPosicion( posicion );
+        return elementos[ posicion ];
+    }
+
+    @Override
+    public Integer set( int posicion, Integer valor )
+    {
+        aplicarPendientes( );
+        verificarPosicion( posicion );
+        int anterior = elementos[ posicion ];
+        elementos[ posicion ] = valor;
+        huellaVigente = false;
+        return anterior;
+    }
+
+    @Override
+    public void add( int posicion, Integer valor )
+    {
+        aplicarPendientes( );
+        if( posicion == cantidad )
+        {
+            agregar( valor );
+            return;
+        }
+        if( posicion < 0 || posicion > cantidad )
+        {
+            throw new IndexOutOfBoundsException( "Posición: " + posicion + ", Tamaño: " + cantidad );
+        }
+        asegurarCapacidad( cantidad + 1 );
+        System.arraycopy( elementos, posicion, elementos, posicion + 1, cantidad - posicion );
+        elementos[ posicion ] = valor;
+        cantidad++;
+        modCount++;
+        huellaVigente = false;
+    }
+
+    @Override
+    public Integer remove( int posicion )
+    {
+        aplicarPendientes( );
+        verificarPosicion( posicion );
+        int anterior = elementos[ posicion ];
+        System.arraycopy( elementos, posicion + 1, elementos, posicion, cantidad - posicion - 1 );
+        cantidad--;
+        modCount++;
+        huellaVigente = false;
+        return anterior;
+    }
+
+    @Override
+    public void clear( )
+    {
+        pendientes.clear( );
+        cantidad = 0;
+        modCount++;
+        huella = 0;
+        huellaVigente = true;
+    }
+
+    @Override
+    public int size( )
+    {
+        aplicarPendientes( );
+        return cantidad;
+    }
+
+    /**
+     * Un Spliterator sobre una parte del arreglo de la lista. Los límites se fijan la primera vez que se usa, para que el stream vea los cambios que se hagan a la lista
+     * entre su creación y el inicio del recorrido.
+     */
+    private final class DivisorEnteros implements Spliterator.OfInt
+    {
+        /**
+         * La siguiente posición que se va a recorrer
+         */
+        private int indice;
+
+        /**
+         * La posición donde termina esta parte del arreglo (sin incluirla), o -1 si todavía no se ha fijado
+         */
+        private int limite;
+
+        /**
+         * El valor que debe tener modCount mientras se recorre la lista
+         */
+        private int modificacionesEsperadas;
+
+        private DivisorEnteros( int origen, int limite, int modificacionesEsperadas )
+        {
+            this.indice = origen;
+            this.limite = limite;
+            this.modificacionesEsperadas = modificacionesEsperadas;
+        }
+
+        private int getLimite( )
+        {
+            if( limite < 0 )
+            {
+                aplicarPendientes( );
+                modificacionesEsperadas = modCount;
+                limite = cantidad;
+            }
+            return limite;
+        }
+
+        @Override
+        public DivisorEnteros trySplit( )
+        {
+            int alto = getLimite( );
+            int bajo = indice;
+            int medio = ( bajo + alto ) >>> 1;
+            if( bajo >= medio )
+            {
+                return null;
+            }
+            indice = medio;
+            return new DivisorEnteros( bajo, medio, modificacionesEsperadas );
+        }
+
+        @Override
+        public boolean tryAdvance( IntConsumer accion )
+        {
+            int alto = getLimite( );
+            if( indice >= alto )
+            {
+                return false;
+            }
+            int valor = elementos[ indice ];
+            indice++;
+            accion.accept( valor );
+            verificarModificaciones( );
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining( IntConsumer accion )
+        {
+            int alto = getLimite( );
+            int[] arreglo = elementos;
+            for( int i = indice; i < alto; i++ )
+            {
+                accion.accept( arreglo[ i ] );
+            }
+            indice = alto;
+            verificarModificaciones( );
+        }
+
+        @Override
+        public long estimateSize( )
+        {
+            return getLimite( ) - indice;
+        }
+
+        @Override
+        public int characteristics( )
+        {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+
+        private void verificarModificaciones( )
+        {
+            if( modCount != modificacionesEsperadas )
+            {
+                throw new ConcurrentModificationException( );
+            }
+        }
+    }
+
+    /**
+     * Una operación pendiente del modo diferido: una transformación o un filtro
+     */
+    private static final class Paso
+    {
+        private final IntUnaryOperator transformacion;
+
+        private final IntPredicate filtro;
+
+        private Paso( IntUnaryOperator transformacion, IntPredicate filtro )
+        {
+            this.transformacion = transformacion;
+            this.filtro = filtro;
+        }
+    }
+
+    private void asegurarCapacidad( int capacidadMinima )
+    {
+        if( capacidadMinima > elementos.length )
+        {
+            int nuevaCapacidad = Math.max( capacidadMinima, elementos.length + ( elementos.length >> 1 ) + 1 );
+            elementos = Arrays.copyOf( elementos, nuevaCapacidad );
+        }
+    }
+
+    private void verificarPosicion( int posicion )
+    {
+        if( posicion < 0 || posicion >= cantidad )
+        {
+            throw new IndexOutOfBoundsException( "Posición: " + posicion + ", Tamaño: " + cantidad );
+        }
+    }
+}
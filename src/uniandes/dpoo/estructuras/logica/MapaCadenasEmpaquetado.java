@@ -0,0 +1,529 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Un mapa de cadenas que guarda los caracteres de todas las llaves y los valores seguidos en un solo arreglo de bytes (la arena), en lugar de un objeto String por cada
+ * uno.
+ *
+ * Cada cadena se guarda en la arena como un encabezado con su longitud, escrito con 7 bits por byte, seguido de sus caracteres: un byte por carácter si todos sus
+ * caracteres son Latin-1, o dos bytes por carácter si no. La tabla de hash es de direccionamiento abierto con prueba lineal, y cada casilla son tres enteros en tres
+ * arreglos paralelos: dónde empieza la llave en la arena, dónde empieza el valor y el hash de la llave. Así una pareja de cadenas cortas ocupa unos 16 bytes más sus
+ * caracteres, en lugar de los más de 100 bytes de un nodo de HashMap con dos String.
+ *
+ * Buscar una llave compara los bytes de la arena con la llave sin construir ninguna cadena; sólo se construyen al retornar valores (get, remove, y put cuando cambia
+ * el valor) o al recorrer el mapa. Las cadenas eliminadas o reemplazadas dejan bytes sin usar en la arena, y cuando estos son más que los que se usan la arena se compacta.
+ *
+ * El mapa no acepta llaves ni valores null, y las parejas que retorna su iterador son de sólo lectura (setValue lanza UnsupportedOperationException).
+ */
+public class MapaCadenasEmpaquetado extends AbstractMap<String, String>
+{
+    /**
+     * La cantidad de casillas de la tabla de un mapa nuevo. Debe ser una potencia de 2.
+     */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /**
+     * La cantidad de bytes de la arena de un mapa nuevo. La arena nunca se compacta a menos de este tamaño.
+     */
+    private static final int TAMANO_INICIAL_ARENA = 256;
+
+    /**
+     * Marca en 'llaves' una casilla que nunca se ha usado
+     */
+    private static final int VACIA = -1;
+
+    /**
+     * Marca en 'llaves' una casilla cuya pareja se eliminó
+     */
+    private static final int BORRADA = -2;
+
+    /**
+     * Los caracteres de todas las cadenas del mapa, y de las que se eliminaron desde la última compactación
+     */
+    private byte[] arena;
+
+    /**
+     * La cantidad de bytes escritos en la arena
+     */
+    private int usados;
+
+    /**
+     * La cantidad de bytes de la arena que pertenecen a cadenas eliminadas o reemplazadas
+     */
+    private int desperdiciados;
+
+    /**
+     * La posición en la arena de la llave de cada casilla, o VACIA o BORRADA. Su tamaño siempre es una potencia de 2.
+     */
+    private int[] llaves;
+
+    /**
+     * La posición en la arena del valor de cada casilla
+     */
+    private int[] valores;
+
+    /**
+     * El hash de la llave de cada casilla, para no tener que leerla de la arena al comparar ni al crecer
+     */
+    private int[] hashes;
+
+    /**
+     * La cantidad de parejas del mapa
+     */
+    private int cantidad;
+
+    /**
+     * La cantidad de casillas que no están vacías (con parejas o borradas)
+     */
+    private int ocupadas;
+
+    /**
+     * La cantidad de veces que ha cambiado el contenido del mapa, para que los iteradores detecten modificaciones hechas por fuera de ellos
+     */
+    private int modificaciones;
+
+    /**
+     * Construye un mapa vacío
+     */
+    public MapaCadenasEmpaquetado( )
+    {
+        arena = new byte[TAMANO_INICIAL_ARENA];
+        llaves = new int[CAPACIDAD_INICIAL];
+        valores = new int[CAPACIDAD_INICIAL];
+        hashes = new int[CAPACIDAD_INICIAL];
+        Arrays.fill( llaves, VACIA );
+    }
+
+    /**
+     * Escribe una cadena al final de la arena
+     * @return La posición de la arena donde quedó la cadena
+     */
+    private int escribir( String cadena )
+    {
+        boolean latina = true;
+        for( int i = 0; i < cadena.length( ) && latina; i++ )
+        {
+            latina = cadena.charAt( i ) <= 0xFF;
+        }
+        int encabezado = cadena.length( ) << 1 | ( latina ? 0 : 1 );
+        int inicio = usados;
+        asegurarEspacio( tamanoEncabezado( encabezado ) + cadena.length( ) * ( latina ? 1 : 2 ) );
+        while( encabezado >= 0x80 )
+        {
+            arena[ usados++ ] = ( byte ) ( 0x80 | ( encabezado & 0x7F ) );
+            encabezado >>>= 7;
+        }
+        arena[ usados++ ] = ( byte )encabezado;
+        for( int i = 0; i < cadena.length( ); i++ )
+        {
+            char caracter = cadena.charAt( i );
+            if( !latina )
+            {
+                arena[ usados++ ] = ( byte ) ( caracter >>> 8 );
+            }
+            arena[ usados++ ] = ( byte )caracter;
+        }
+        return inicio;
+    }
+
+    private void asegurarEspacio( int bytes )
+    {
+        if( usados + bytes > arena.length )
+        {
+            arena = Arrays.copyOf( arena, Math.max( arena.length * 2, usados + bytes ) );
+        }
+    }
+
+    /**
+     * Lee el encabezado (la longitud y si la cadena es Latin-1) de la cadena que empieza en una posición de un arreglo
+     */
+    private static int leerEncabezado( byte[] datos, int inicio )
+    {
+        int encabezado = 0;
+        int desplazamiento = 0;
+        byte dato;
+        do
+        {
+            dato = datos[ inicio++ ];
+            encabezado |= ( dato & 0x7F ) << desplazamiento;
+            desplazamiento += 7;
+        } while( ( dato & 0x80 ) != 0 );
+        return encabezado;
+    }
+
+    private static int tamanoEncabezado( int encabezado )
+    {
+        int tamano = 1;
+        while( encabezado >= 0x80 )
+        {
+            encabezado >>>= 7;
+            tamano++;
+        }
+        return tamano;
+    }
+
+    /**
+     * Retorna la cantidad de bytes que ocupa la cadena que empieza en una posición de un arreglo, contando el encabezado
+     */
+    private static int tamanoEnArena( byte[] datos, int inicio )
+    {
+        int encabezado = leerEncabezado( datos, inicio );
+        return tamanoEncabezado( encabezado ) + ( encabezado >>> 1 ) * ( ( encabezado & 1 ) + 1 );
+    }
+
+    /**
+     * Retorna el carácter en una posición de la cadena que está en la arena
+     */
+    private char caracter( int datos, boolean latina, int posicion )
+    {
+        if( latina )
+        {
+            return ( char ) ( arena[ datos + posicion ] & 0xFF );
+        }
+        return ( char ) ( ( arena[ datos + 2 * posicion ] & 0xFF ) << 8 | ( arena[ datos + 2 * posicion + 1 ] & 0xFF ) );
+    }
+
+    /**
+     * Compara la cadena que empieza en una posición de la arena con otra cadena, sin construir la primera
+     */
+    private boolean esIgual( int inicio, String cadena )
+    {
+        int encabezado = leerEncabezado( arena, inicio );
+        if( encabezado >>> 1 != cadena.length( ) )
+        {
+            return false;
+        }
+        int datos = inicio + tamanoEncabezado( encabezado );
+        boolean latina = ( encabezado & 1 ) == 0;
+        for( int i = 0; i < cadena.length( ); i++ )
+        {
+            if( caracter( datos, latina, i ) != cadena.charAt( i ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Construye la cadena que empieza en una posición de la arena
+     */
+    private String leer( int inicio )
+    {
+        int encabezado = leerEncabezado( arena, inicio );
+        int largo = encabezado >>> 1;
+        int datos = inicio + tamanoEncabezado( encabezado );
+        if( ( encabezado & 1 ) == 0 )
+        {
+            return new String( arena, datos, largo, StandardCharsets.ISO_8859_1 );
+        }
+        char[] caracteres = new char[largo];
+        for( int i = 0; i < largo; i++ )
+        {
+            caracteres[ i ] = caracter( datos, false, i );
+        }
+        return new String( caracteres );
+    }
+
+    /**
+     * Busca la casilla de una llave
+     * @return La casilla de la llave, o -1 si no está en el mapa
+     */
+    private int buscar( String llave )
+    {
+        int hash = llave.hashCode( );
+        for( int i = SondeoLineal.casillaInicial( hash, llaves.length ); llaves[ i ] != VACIA; i = SondeoLineal.siguienteCasilla( i, llaves.length ) )
+        {
+            if( llaves[ i ] != BORRADA && hashes[ i ] == hash && esIgual( llaves[ i ], llave ) )
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Ubica una pareja, cuya llave no está en el mapa, en la primera casilla libre a partir de la que le corresponde a su hash
+     */
+    private void ubicar( int llave, int valor, int hash )
+    {
+        int i = SondeoLineal.casillaInicial( hash, llaves.length );
+        while( llaves[ i ] >= 0 )
+        {
+            i = SondeoLineal.siguienteCasilla( i, llaves.length );
+        }
+        if( llaves[ i ] == VACIA )
+        {
+            ocupadas++;
+        }
+        llaves[ i ] = llave;
+        valores[ i ] = valor;
+        hashes[ i ] = hash;
+        cantidad++;
+    }
+
+    /**
+     * Elimina la pareja de una casilla
+     */
+    private void eliminarCasilla( int i )
+    {
+        desperdiciados += tamanoEnArena( arena, llaves[ i ] ) + tamanoEnArena( arena, valores[ i ] );
+        llaves[ i ] = BORRADA;
+        cantidad--;
+        modificaciones++;
+        compactarSiHaceFalta( );
+    }
+
+    /**
+     * Vuelve a construir la tabla sin las casillas borradas, con el doble de capacidad si hace falta. Las cadenas no se mueven en la arena.
+     */
+    private void redimensionar( )
+    {
+        int capacidad = SondeoLineal.nuevaCapacidad( cantidad, llaves.length );
+        int[] llavesAnteriores = llaves;
+        int[] valoresAnteriores = valores;
+        int[] hashesAnteriores = hashes;
+        llaves = new int[capacidad];
+        valores = new int[capacidad];
+        hashes = new int[capacidad];
+        Arrays.fill( llaves, VACIA );
+        cantidad = 0;
+        ocupadas = 0;
+        for( int i = 0; i < llavesAnteriores.length; i++ )
+        {
+            if( llavesAnteriores[ i ] >= 0 )
+            {
+                ubicar( llavesAnteriores[ i ], valoresAnteriores[ i ], hashesAnteriores[ i ] );
+            }
+        }
+    }
+
+    /**
+     * Si la mayor parte de la arena pertenece a cadenas eliminadas, copia las cadenas del mapa a una arena nueva. Las parejas no cambian de casilla.
+     */
+    private void compactarSiHaceFalta( )
+    {
+        if( desperdiciados <= TAMANO_INICIAL_ARENA || desperdiciados <= usados - desperdiciados )
+        {
+            return;
+        }
+        byte[] anterior = arena;
+        arena = new byte[Math.max( TAMANO_INICIAL_ARENA, ( usados - desperdiciados ) * 2 )];
+        usados = 0;
+        desperdiciados = 0;
+        for( int i = 0; i < llaves.length; i++ )
+        {
+            if( llaves[ i ] >= 0 )
+            {
+                llaves[ i ] = copiar( anterior, llaves[ i ] );
+                valores[ i ] = copiar( anterior, valores[ i ] );
+            }
+        }
+    }
+
+    /**
+     * Copia al final de la arena una cadena que está en otra arena
+     * @return La posición de la arena donde quedó la cadena
+     */
+    private int copiar( byte[] origen, int inicio )
+    {
+        int tamano = tamanoEnArena( origen, inicio );
+        System.arraycopy( origen, inicio, arena, usados, tamano );
+        usados += tamano;
+        return usados - tamano;
+    }
+
+    @Override
+    public int size( )
+    {
+        return cantidad;
+    }
+
+    @Override
+    public boolean containsKey( Object llave )
+    {
+        return llave instanceof String && buscar( ( String )llave ) >= 0;
+    }
+
+    @Override
+    public boolean containsValue( Object valor )
+    {
+        if( !( valor instanceof String ) )
+        {
+            return false;
+        }
+        for( int i = 0; i < llaves.length; i++ )
+        {
+            if( llaves[ i ] >= 0 && esIgual( valores[ i ], ( String )valor ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String get( Object llave )
+    {
+        if( !( llave instanceof String ) )
+        {
+            return null;
+        }
+        int i = buscar( ( String )llave );
+        return i >= 0 ? leer( valores[ i ] ) : null;
+    }
+
+    @Override
+    public String put( String llave, String valor )
+    {
+        Objects.requireNonNull( llave );
+        Objects.requireNonNull( valor );
+        int i = buscar( llave );
+        if( i >= 0 )
+        {
+            // Si el valor no cambia, el valor anterior es igual al recibido y no hace falta construirlo a partir de la arena
+            if( esIgual( valores[ i ], valor ) )
+            {
+                return valor;
+            }
+            String anterior = leer( valores[ i ] );
+            desperdiciados += tamanoEnArena( arena, valores[ i ] );
+            valores[ i ] = escribir( valor );
+            compactarSiHaceFalta( );
+            return anterior;
+        }
+        if( SondeoLineal.debeRedimensionar( ocupadas, llaves.length ) )
+        {
+            redimensionar( );
+        }
+        int posicionLlave = escribir( llave );
+        ubicar( posicionLlave, escribir( valor ), llave.hashCode( ) );
+        modificaciones++;
+        return null;
+    }
+
+    @Override
+    public String remove( Object llave )
+    {
+        if( !( llave instanceof String ) )
+        {
+            return null;
+        }
+        int i = buscar( ( String )llave );
+        if( i < 0 )
+        {
+            return null;
+        }
+        String anterior = leer( valores[ i ] );
+        eliminarCasilla( i );
+        return anterior;
+    }
+
+    @Override
+    public void clear( )
+    {
+        Arrays.fill( llaves, VACIA );
+        cantidad = 0;
+        ocupadas = 0;
+        usados = 0;
+        desperdiciados = 0;
+        modificaciones++;
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet( )
+    {
+        return new AbstractSet<Map.Entry<String, String>>( )
+        {
+            @Override
+            public int size( )
+            {
+                return cantidad;
+            }
+
+            @Override
+            public void clear( )
+            {
+                MapaCadenasEmpaquetado.this.clear( );
+            }
+
+            @Override
+            public Iterator<Map.Entry<String, String>> iterator( )
+            {
+                return new Recorrido( );
+            }
+        };
+    }
+
+    /**
+     * Un recorrido de las casillas de la tabla que construye la llave y el valor de cada pareja a medida que la retorna
+     */
+    private final class Recorrido implements Iterator<Map.Entry<String, String>>
+    {
+        private int siguiente;
+
+        /**
+         * La casilla de la última pareja retornada, o -1 si no hay ninguna o ya se eliminó
+         */
+        private int ultima;
+
+        private int modificacionesEsperadas;
+
+        private Recorrido( )
+        {
+            ultima = -1;
+            modificacionesEsperadas = modificaciones;
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            while( siguiente < llaves.length && llaves[ siguiente ] < 0 )
+            {
+                siguiente++;
+            }
+            return siguiente < llaves.length;
+        }
+
+        @Override
+        public Map.Entry<String, String> next( )
+        {
+            if( modificaciones != modificacionesEsperadas )
+            {
+                throw new ConcurrentModificationException( );
+            }
+            if( !hasNext( ) )
+            {
+                throw new NoSuchElementException( );
+            }
+            ultima = siguiente++;
+            return new AbstractMap.SimpleImmutableEntry<String, String>( leer( llaves[ ultima ] ), leer( valores[ ultima ] ) );
+        }
+
+        @Override
+        public void remove( )
+        {
+            if( ultima < 0 )
+            {
+                throw new IllegalStateException( );
+            }
+            if( modificaciones != modificacionesEsperadas )
+            {
+                throw new ConcurrentModificationException( );
+            }
+            eliminarCasilla( ultima );
+            ultima = -1;
+            modificacionesEsperadas = modificaciones;
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Un mapa de cadenas que envuelve a otro (por ejemplo un HashMap) y mantiene ordenadas sus llaves y sus valores.
+ *
+ * Todas las modificaciones, incluyendo las que se hacen a través de las vistas y de los iteradores, pasan por esta clase, así que los índices siempre corresponden al
+ * contenido del mapa. Mantenerlos cuesta O(log n) por cada modificación, y a cambio la primera y la última llave se consultan en tiempo logarítmico y los listados
+ * ordenados ya no tienen que ordenar todo el mapa cada vez.
+ *
+ * Además mantiene un índice inverso de cada valor a las llaves que lo tienen, así que buscar o eliminar por valor (containsValue, getLlavesConValor, eliminarValor) no
+ * tiene que recorrer todo el mapa. El índice inverso está ordenado por valor, así que también es el que da los valores ordenados.
+ */
+public class MapaCadenasIndexado extends AbstractMap<String, String>
+{
+    /**
+     * El mapa donde realmente se guardan las parejas
+     */
+    private final Map<String, String> delegado;
+
+    /**
+     * Las llaves del mapa, ordenadas lexicográficamente
+     */
+    private final TreeSet<String> llavesOrdenadas;
+
+    /**
+     * Las llaves que tiene asociadas cada valor del mapa, con los valores ordenados lexicográficamente. Casi todos los valores tienen una sola llave, así que en ese caso
+     * se guarda la llave misma (un String), y sólo cuando un valor tiene varias se guardan en un VariasLlaves. Un valor sale de este mapa cuando se elimina su última
+     * llave, así que su tamaño es la cantidad de valores diferentes.
+     */
+    private final TreeMap<String, Object> llavesPorValor;
+
+    /**
+     * Construye un mapa indexado que guarda sus parejas en el mapa recibido. El mapa recibido no se debe modificar directamente después.
+     * @param delegado El mapa donde se van a guardar las parejas. Si no está vacío, su contenido se agrega a los índices.
+     */
+    public MapaCadenasIndexado( Map<String, String> delegado )
+    {
+        this.delegado = delegado;
+        this.llavesOrdenadas = new TreeSet<String>( );
+        this.llavesPorValor = new TreeMap<String, Object>( );
+        for( Map.Entry<String, String> entrada : delegado.entrySet( ) )
+        {
+            entradaAgregada( entrada.getKey( ), entrada.getValue( ) );
+        }
+    }
+
+    /**
+     * Retorna una vista de sólo lectura de las llaves del mapa en orden lexicográfico
+     * @return Las llaves ordenadas
+     */
+    public NavigableSet<String> getLlavesOrdenadas( )
+    {
+        return Collections.unmodifiableNavigableSet( llavesOrdenadas );
+    }
+
+    /**
+     * Retorna una lista nueva con los valores del mapa en orden lexicográfico. Un valor asociado a varias llaves aparece una vez por cada una.
+     * @return Los valores ordenados
+     */
+    public List<String> getValoresOrdenados( )
+    {
+        List<String> valores = new ArrayList<String>( delegado.size( ) );
+        for( Map.Entry<String, Object> llavesDelValor : llavesPorValor.entrySet( ) )
+        {
+            Object llaves = llavesDelValor.getValue( );
+            for( int i = llaves instanceof VariasLlaves ? ( ( VariasLlaves )llaves ).llaves.size( ) : 1; i > 0; i-- )
+            {
+                valores.add( llavesDelValor.getKey( ) );
+            }
+        }
+        return valores;
+    }
+
+    /**
+     * Retorna la cantidad de valores diferentes del mapa, en tiempo constante
+     * @return La cantidad de valores diferentes
+     */
+    public int getCantidadValoresDiferentes( )
+    {
+        return llavesPorValor.size( );
+    }
+
+    /**
+     * Retorna un conjunto de sólo lectura con las llaves que tienen asociado un valor. Si el mapa cambia después, el conjunto puede no reflejar el cambio.
+     * @param valor El valor buscado
+     * @return Las llaves con ese valor, o un conjunto vacío si ninguna lo tiene
+     */
+    public Set<String> getLlavesConValor( String valor )
+    {
+        Object llaves = llavesPorValor.get( valor );
+        if( llaves == null )
+        {
+            return Collections.<String> emptySet( );
+        }
+        if( llaves instanceof VariasLlaves )
+        {
+            return Collections.unmodifiableSet( ( ( VariasLlaves )llaves ).llaves );
+        }
+        return Collections.singleton( ( String )llaves );
+    }
+
+    /**
+     * Elimina todas las parejas que tienen un valor
+     * @param valor El valor que se va a eliminar
+     * @return La cantidad de parejas eliminadas
+     */
+    public int eliminarValor( String valor )
+    {
+        List<String> eliminadas = new ArrayList<String>( getLlavesConValor( valor ) );
+        for( String llave : eliminadas )
+        {
+            remove( llave );
+        }
+        return eliminadas.size( );
+    }
+
+    @Override
+    public int size( )
+    {
+        return delegado.size( );
+    }
+
+    @Override
+    public boolean isEmpty( )
+    {
+        return delegado.isEmpty( );
+    }
+
+    @Override
+    public boolean containsKey( Object llave )
+    {
+        return delegado.containsKey( llave );
+    }
+
+    @Override
+    public boolean containsValue( Object valor )
+    {
+        return llavesPorValor.containsKey( valor );
+    }
+
+    @Override
+    public String get( Object llave )
+    {
+        return delegado.get( llave );
+    }
+
+    @Override
+    public String put( String llave, String valor )
+    {
+        boolean existia = delegado.containsKey( llave );
+        String anterior = delegado.put( llave, valor );
+        if( existia )
+        {
+            entradaEliminada( llave, anterior );
+        }
+        entradaAgregada( llave, valor );
+        return anterior;
+    }
+
+    @Override
+    public String remove( Object llave )
+    {
+        if( !delegado.containsKey( llave ) )
+        {
+            return null;
+        }
+        String anterior = delegado.remove( llave );
+        entradaEliminada( ( String )llave, anterior );
+        return anterior;
+    }
+
+    @Override
+    public void clear( )
+    {
+        delegado.clear( );
+        llavesOrdenadas.clear( );
+        llavesPorValor.clear( );
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet( )
+    {
+        return new AbstractSet<Map.Entry<String, String>>( )
+        {
+            @Override
+            public int size( )
+            {
+                return delegado.size( );
+            }
+
+            @Override
+            public void clear( )
+            {
+                MapaCadenasIndexado.this.clear( );
+            }
+
+            @Override
+            public Iterator<Map.Entry<String, String>> iterator( )
+            {
+                return new Recorrido( delegado.entrySet( ).iterator( ) );
+            }
+        };
+    }
+
+    /**
+     * Actualiza los índices con una pareja que se acaba de agregar al mapa
+     */
+    private void entradaAgregada( String llave, String valor )
+    {
+        llavesOrdenadas.add( llave );
+        Object llaves = llavesPorValor.get( valor );
+        if( llaves == null )
+        {
+            llavesPorValor.put( valor, llave );
+        }
+        else if( llaves instanceof VariasLlaves )
+        {
+            ( ( VariasLlaves )llaves ).llaves.add( llave );
+        }
+        else
+        {
+            // El valor ya tenía una llave: se pasa a guardar un conjunto
+            VariasLlaves varias = new VariasLlaves( );
+            varias.llaves.add( ( String )llaves );
+            varias.llaves.add( llave );
+            llavesPorValor.put( valor, varias );
+        }
+    }
+
+    /**
+     * Actualiza los índices con una pareja que se acaba de eliminar del mapa
+     */
+    private void entradaEliminada( String llave, String valor )
+    {
+        llavesOrdenadas.remove( llave );
+        Object llaves = llavesPorValor.get( valor );
+        if( llaves instanceof VariasLlaves )
+        {
+            Set<String> varias = ( ( VariasLlaves )llaves ).llaves;
+            varias.remove( llave );
+            if( varias.size( ) == 1 )
+            {
+                llavesPorValor.put( valor, varias.iterator( ).next( ) );
+            }
+        }
+        else
+        {
+            llavesPorValor.remove( valor );
+        }
+    }
+
+    /**
+     * Las llaves de un valor que tiene más de una
+     */
+    private static final class VariasLlaves
+    {
+        private final Set<String> llaves = new HashSet<String>( );
+    }
+
+    /**
+     * Un recorrido de las parejas del mapa envuelto que le avisa a los índices las eliminaciones y los cambios de valor
+     */
+    private final class Recorrido implements Iterator<Map.Entry<String, String>>
+    {
+        private final Iterator<Map.Entry<String, String>> iterador;
+
+        private Map.Entry<String, String> ultima;
+
+        private Recorrido( Iterator<Map.Entry<String, String>> iterador )
+        {
+            this.iterador = iterador;
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            return iterador.hasNext( );
+        }
+
+        @Override
+        public Map.Entry<String, String> next( )
+        {
+            Map.Entry<String, String> entrada = iterador.next( );
+            ultima = entrada;
+            return new Entrada( entrada );
+        }
+
+        @Override
+        public void remove( )
+        {
+            if( ultima == null )
+            {
+                throw new IllegalStateException( );
+            }
+            String llave = ultima.getKey( );
+            String valor = ultima.getValue( );
+            iterador.remove( );
+            ultima = null;
+            entradaEliminada( llave, valor );
+        }
+    }
+
+    /**
+     * Una pareja del mapa envuelto cuyo setValue actualiza los índices. La llave y el valor se leen de la pareja envuelta.
+     */
+    private final class Entrada implements Map.Entry<String, String>
+    {
+        private final Map.Entry<String, String> entrada;
+
+        private Entrada( Map.Entry<String, String> entrada )
+        {
+            this.entrada = entrada;
+        }
+
+        @Override
+        public String getKey( )
+        {
+            return entrada.getKey( );
+        }
+
+        @Override
+        public String getValue( )
+        {
+            return entrada.getValue( );
+        }
+
+        @Override
+        public String setValue( String valor )
+        {
+            String anterior = entrada.setValue( valor );
+            entradaEliminada( getKey( ), anterior );
+            entradaAgregada( getKey( ), valor );
+            return anterior;
+        }
+
+        @Override
+        public boolean equals( Object objeto )
+        {
+            if( !( objeto instanceof Map.Entry ) )
+            {
+                return false;
+            }
+            Map.Entry<?, ?> otra = ( Map.Entry<?, ?> )objeto;
+            return Objects.equals( getKey( ), otra.getKey( ) ) && Objects.equals( getValue( ), otra.getValue( ) );
+        }
+
+        @Override
+        public int hashCode( )
+        {
+            return Objects.hashCode( getKey( ) ) ^ Objects.hashCode( getValue( ) );
+        }
+
+        @Override
+        public String toString( )
+        {
+            return getKey( ) + "=" + getValue( );
+        }
+    }
+}
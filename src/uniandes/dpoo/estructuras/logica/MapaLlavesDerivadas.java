@@ -0,0 +1,466 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Un mapa de cadenas pensado para el caso en que cada llave es su valor invertido (como en SandboxMapas): sólo guarda los valores, y las llaves se deducen de ellos.
+ *
+ * Los valores se guardan en una tabla de hash de direccionamiento abierto (con prueba lineal) ordenada por el hash de su llave. Cuando se recibe la llave, ese hash
+ * es su hashCode; cuando sólo se recibe el valor (agregarValor), se calcula recorriendo el valor de atrás hacia adelante. El hash se guarda junto al valor para no
+ * recalcularlo al crecer. Para comparar una llave con un valor guardado se compara la llave con el valor leído al revés, así que las llaves nunca se construyen para
+ * buscar, agregar o eliminar. Sólo se construyen al recorrer el mapa (entrySet, keySet), por ejemplo cuando se piden todas las llaves o las llaves ordenadas. Así cada
+ * pareja ocupa los caracteres del valor y no los del valor y los de la llave.
+ *
+ * Las parejas en las que la llave no es el valor invertido (por ejemplo después de volver las llaves mayúsculas) se guardan completas en un HashMap de excepciones. Cada
+ * llave está en la tabla o en las excepciones, nunca en las dos.
+ *
+ * El mapa no acepta llaves ni valores null, y las parejas que retorna su iterador son de sólo lectura (setValue lanza UnsupportedOperationException).
+ */
+public class MapaLlavesDerivadas extends AbstractMap<String, String>
+{
+    /**
+     * La cantidad de casillas de la tabla de un mapa nuevo. Debe ser una potencia de 2.
+     */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /**
+     * Marca las casillas de la tabla cuyo valor se eliminó. Se compara por identidad, así que no se confunde con ninguna cadena guardada.
+     */
+    private static final String BORRADO = new String( );
+
+    /**
+     * La tabla de valores. Su tamaño siempre es una potencia de 2. Las casillas vacías tienen null.
+     */
+    private String[] valores;
+
+    /**
+     * El hash de la llave de cada valor de la tabla, para no tener que recalcularlo al comparar ni al crecer
+     */
+    private int[] hashes;
+
+    /**
+     * La cantidad de valores en la tabla
+     */
+    private int cantidad;
+
+    /**
+     * La cantidad de casillas que no están vacías (con valores o marcadas como borradas)
+     */
+    private int ocupadas;
+
+    /**
+     * Las parejas cuya llave no es su valor invertido
+     */
+    private final Map<String, String> excepciones;
+
+    /**
+     * La cantidad de veces que ha cambiado el contenido del mapa, para que los iteradores detecten modificaciones hechas por fuera de ellos
+     */
+    private int modificaciones;
+
+    /**
+     * Construye un mapa vacío
+     */
+    public MapaLlavesDerivadas( )
+    {
+        valores = new String[CAPACIDAD_INICIAL];
+        hashes = new int[CAPACIDAD_INICIAL];
+        excepciones = new HashMap<String, String>( );
+    }
+
+    /**
+     * Retorna un carácter de la llave que corresponde a un valor (el valor invertido) sin construir la llave. Igual que StringBuilder.reverse, los pares sustitutos del
+     * valor conservan su orden en la llave.
+     * @param valor El valor
+     * @param posicion La posición del carácter en la llave
+     * @return El carácter de la llave en esa posición
+     */
+    static char caracterDeLlave( String valor, int posicion )
+    {
+        int i = valor.length( ) - 1 - posicion;
+        char caracter = valor.charAt( i );
+        if( Character.isLowSurrogate( caracter ) && i > 0 && Character.isHighSurrogate( valor.charAt( i - 1 ) ) )
+        {
+            return valor.charAt( i - 1 );
+        }
+        if( Character.isHighSurrogate( caracter ) && i + 1 < valor.length( ) && Character.isLowSurrogate( valor.charAt( i + 1 ) ) )
+        {
+            return valor.charAt( i + 1 );
+        }
+        return caracter;
+    }
+
+    /**
+     * Calcula el hash de la llave que corresponde a un valor, igual al hashCode de la llave, sin construirla
+     */
+    static int hashLlave( String valor )
+    {
+        int hash = 0;
+        for( int j = 0; j < valor.length( ); j++ )
+        {
+            hash = 31 * hash + caracterDeLlave( valor, j );
+        }
+        return hash;
+    }
+
+    /**
+     * Indica si dos valores tienen la misma llave. Casi siempre es lo mismo que sean iguales, salvo con pares sustitutos mal formados, que al invertirse pueden quedar
+     * iguales a uno bien formado.
+     */
+    static boolean mismaLlave( String valor, String otroValor )
+    {
+        if( valor.length( ) != otroValor.length( ) )
+        {
+            return false;
+        }
+        for( int j = 0; j < valor.length( ); j++ )
+        {
+            if( caracterDeLlave( valor, j ) != caracterDeLlave( otroValor, j ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indica si una llave es la que corresponde a un valor, es decir el valor invertido
+     */
+    static boolean esLlaveDe( String llave, String valor )
+    {
+        if( llave.length( ) != valor.length( ) )
+        {
+            return false;
+        }
+        for( int j = 0; j < llave.length( ); j++ )
+        {
+            if( llave.charAt( j ) != caracterDeLlave( valor, j ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Busca en la tabla el valor que le corresponde a una llave
+     * @return La casilla donde está el valor, o -1 si la llave no está en la tabla
+     */
+    private int buscar( String llave )
+    {
+        return buscar( llave, false, llave.hashCode( ) );
+    }
+
+    /**
+     * Busca en la tabla la casilla de una llave, que se recibe directamente o a través de su valor
+     * @param cadena La llave, o el valor si esValor es true
+     * @param esValor Indica si la cadena es el valor y no la llave
+     * @param hash El hash de la llave
+     * @return La casilla donde está el valor de la llave, o -1 si la llave no está en la tabla
+     */
+    private int buscar( String cadena, boolean esValor, int hash )
+    {
+        for( int i = SondeoLineal.casillaInicial( hash, valores.length ); valores[ i ] != null; i = SondeoLineal.siguienteCasilla( i, valores.length ) )
+        {
+            if( valores[ i ] != BORRADO && hashes[ i ] == hash && ( esValor ? mismaLlave( cadena, valores[ i ] ) : esLlaveDe( cadena, valores[ i ] ) ) )
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Agrega a la tabla un valor cuya llave no está en la tabla
+     */
+    private void insertar( String valor, int hash )
+    {
+        if( SondeoLineal.debeRedimensionar( ocupadas, valores.length ) )
+        {
+            redimensionar( );
+        }
+        int i = SondeoLineal.casillaInicial( hash, valores.length );
+        while( valores[ i ] != null && valores[ i ] != BORRADO )
+        {
+            i = SondeoLineal.siguienteCasilla( i, valores.length );
+        }
+        if( valores[ i ] == null )
+        {
+            ocupadas++;
+        }
+        valores[ i ] = valor;
+        hashes[ i ] = hash;
+        cantidad++;
+    }
+
+    /**
+     * Elimina el valor de una casilla de la tabla
+     */
+    private void eliminarCasilla( int i )
+    {
+        valores[ i ] = BORRADO;
+        cantidad--;
+        modificaciones++;
+    }
+
+    /**
+     * Vuelve a construir la tabla sin las casillas borradas, con el doble de capacidad si hace falta
+     */
+    private void redimensionar( )
+    {
+        int capacidad = SondeoLineal.nuevaCapacidad( cantidad, valores.length );
+        String[] anteriores = valores;
+        int[] hashesAnteriores = hashes;
+        valores = new String[capacidad];
+        hashes = new int[capacidad];
+        cantidad = 0;
+        ocupadas = 0;
+        for( int i = 0; i < anteriores.length; i++ )
+        {
+            if( anteriores[ i ] != null && anteriores[ i ] != BORRADO )
+            {
+                insertar( anteriores[ i ], hashesAnteriores[ i ] );
+            }
+        }
+    }
+
+    @Override
+    public int size( )
+    {
+        return cantidad + excepciones.size( );
+    }
+
+    @Override
+    public boolean containsKey( Object llave )
+    {
+        return llave instanceof String && ( buscar( ( String )llave ) >= 0 || excepciones.containsKey( llave ) );
+    }
+
+    @Override
+    public String get( Object llave )
+    {
+        if( !( llave instanceof String ) )
+        {
+            return null;
+        }
+        int i = buscar( ( String )llave );
+        return i >= 0 ? valores[ i ] : excepciones.get( llave );
+    }
+
+    @Override
+    public String put( String llave, String valor )
+    {
+        Objects.requireNonNull( llave );
+        Objects.requireNonNull( valor );
+        int i = buscar( llave );
+        if( esLlaveDe( llave, valor ) )
+        {
+            if( i >= 0 )
+            {
+                String anterior = valores[ i ];
+                valores[ i ] = valor;
+                return anterior;
+            }
+            String anterior = excepciones.remove( llave );
+            insertar( valor, llave.hashCode( ) );
+            modificaciones++;
+            return anterior;
+        }
+        if( i >= 0 )
+        {
+            String anterior = valores[ i ];
+            eliminarCasilla( i );
+            excepciones.put( llave, valor );
+            return anterior;
+        }
+        if( !excepciones.containsKey( llave ) )
+        {
+            modificaciones++;
+        }
+        return excepciones.put( llave, valor );
+    }
+
+    /**
+     * Agrega un valor con la llave que le corresponde (el valor invertido), igual que put, pero sin construir la llave: su hash se calcula leyendo el valor al revés.
+     * Sólo si el mapa tiene excepciones se construye la llave, para buscarla entre ellas.
+     * @param valor El valor que se va a agregar
+     * @return El valor que tenía antes la llave, o null si la llave no estaba en el mapa
+     */
+    public String agregarValor( String valor )
+    {
+        Objects.requireNonNull( valor );
+        int hash = hashLlave( valor );
+        int i = buscar( valor, true, hash );
+        if( i >= 0 )
+        {
+            String anterior = valores[ i ];
+            valores[ i ] = valor;
+            return anterior;
+        }
+        String anterior = excepciones.isEmpty( ) ? null : excepciones.remove( new StringBuilder( valor ).reverse( ).toString( ) );
+        insertar( valor, hash );
+        modificaciones++;
+        return anterior;
+    }
+
+    @Override
+    public String remove( Object llave )
+    {
+        if( !( llave instanceof String ) )
+        {
+            return null;
+        }
+        int i = buscar( ( String )llave );
+        if( i >= 0 )
+        {
+            String anterior = valores[ i ];
+            eliminarCasilla( i );
+            return anterior;
+        }
+        if( !excepciones.containsKey( llave ) )
+        {
+            return null;
+        }
+        modificaciones++;
+        return excepciones.remove( llave );
+    }
+
+    @Override
+    public void clear( )
+    {
+        Arrays.fill( valores, null );
+        cantidad = 0;
+        ocupadas = 0;
+        excepciones.clear( );
+        modificaciones++;
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet( )
+    {
+        return new AbstractSet<Map.Entry<String, String>>( )
+        {
+            @Override
+            public int size( )
+            {
+                return MapaLlavesDerivadas.this.size( );
+            }
+
+            @Override
+            public void clear( )
+            {
+                MapaLlavesDerivadas.this.clear( );
+            }
+
+            @Override
+            public Iterator<Map.Entry<String, String>> iterator( )
+            {
+                return new Recorrido( );
+            }
+        };
+    }
+
+    /**
+     * Un recorrido de las parejas del mapa: primero las de la tabla, construyendo cada llave a partir de su valor, y después las excepciones
+     */
+    private final class Recorrido implements Iterator<Map.Entry<String, String>>
+    {
+        /**
+         * La siguiente casilla de la tabla que se debe revisar
+         */
+        private int siguiente;
+
+        /**
+         * La casilla de la última pareja retornada, o -1 si la última pareja era una excepción o ya se eliminó
+         */
+        private int ultima;
+
+        /**
+         * El recorrido de las excepciones, o null si todavía se está recorriendo la tabla
+         */
+        private Iterator<Map.Entry<String, String>> recorridoExcepciones;
+
+        private boolean puedeEliminar;
+
+        private int modificacionesEsperadas;
+
+        private Recorrido( )
+        {
+            ultima = -1;
+            modificacionesEsperadas = modificaciones;
+        }
+
+        @Override
+        public boolean hasNext( )
+        {
+            if( recorridoExcepciones == null )
+            {
+                while( siguiente < valores.length && ( valores[ siguiente ] == null || valores[ siguiente ] == BORRADO ) )
+                {
+                    siguiente++;
+                }
+                if( siguiente < valores.length )
+                {
+                    return true;
+                }
+                recorridoExcepciones = excepciones.entrySet( ).iterator( );
+            }
+            return recorridoExcepciones.hasNext( );
+        }
+
+        @Override
+        public Map.Entry<String, String> next( )
+        {
+            if( modificaciones != modificacionesEsperadas )
+            {
+                throw new ConcurrentModificationException( );
+            }
+            if( !hasNext( ) )
+            {
+                throw new NoSuchElementException( );
+            }
+            puedeEliminar = true;
+            if( recorridoExcepciones == null )
+            {
+                ultima = siguiente;
+                String valor = valores[ siguiente++ ];
+                return new AbstractMap.SimpleImmutableEntry<String, String>( new StringBuilder( valor ).reverse( ).toString( ), valor );
+            }
+            ultima = -1;
+            return new AbstractMap.SimpleImmutableEntry<String, String>( recorridoExcepciones.next( ) );
+        }
+
+        @Override
+        public void remove( )
+        {
+            if( !puedeEliminar )
+            {
+                throw new IllegalStateException( );
+            }
+            if( modificaciones != modificacionesEsperadas )
+            {
+                throw new ConcurrentModificationException( );
+            }
+            puedeEliminar = false;
+            if( ultima >= 0 )
+            {
+                eliminarCasilla( ultima );
+            }
+            else
+            {
+                recorridoExcepciones.remove( );
+                modificaciones++;
+            }
+            modificacionesEsperadas = modificaciones;
+        }
+    }
+}
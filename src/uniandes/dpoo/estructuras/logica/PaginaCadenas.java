@@ -0,0 +1,115 @@
+package uniandes.dpoo.estructuras.logica;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Una página de cadenas obtenida al recorrer por partes un rango de un conjunto ordenado.
+ *
+ * Además de las cadenas, la página recuerda dónde terminó (el cursor) y los límites del rango, de forma que se pueda pedir la página siguiente. Como el cursor es la última
+ * cadena retornada y no una posición, la página siguiente es correcta aunque el conjunto se haya modificado entre los dos llamados.
+ */
+public class PaginaCadenas
+{
+    /**
+     * Las cadenas de la página, en orden
+     */
+    private final List<String> cadenas;
+
+    /**
+     * La última cadena de la página, desde donde debe empezar la página siguiente. Es null si la página está vacía.
+     */
+    private final String cursor;
+
+    /**
+     * Indica si después de esta página quedan más cadenas dentro del rango
+     */
+    private final boolean hayMas;
+
+    /**
+     * El límite superior del rango, o null si el rango no tiene límite superior
+     */
+    private final String hasta;
+
+    /**
+     * Indica si el límite superior hace parte del rango
+     */
+    private final boolean incluirHasta;
+
+    /**
+     * La cantidad máxima de cadenas por página
+     */
+    private final int limite;
+
+    /**
+     * Construye una nueva página
+     * @param cadenas Las cadenas de la página, en orden
+     * @param hayMas Indica si quedan más cadenas en el rango después de esta página
+     * @param hasta El límite superior del rango, o null si no tiene
+     * @param incluirHasta Indica si el límite superior hace parte del rango
+     * @param limite La cantidad máxima de cadenas por página
+     */
+    public PaginaCadenas( List<String> cadenas, boolean hayMas, String hasta, boolean incluirHasta, int limite )
+    {
+        this.cadenas = Collections.unmodifiableList( cadenas );
+        this.cursor = cadenas.isEmpty( ) ? null : cadenas.get( cadenas.size( ) - 1 );
+        this.hayMas = hayMas;
+        this.hasta = hasta;
+        this.incluirHasta = incluirHasta;
+        this.limite = limite;
+    }
+
+    /**
+     * Retorna las cadenas de la página. La lista no se puede modificar.
+     * @return Las cadenas de la página, en orden
+     */
+    public List<String> getCadenas( )
+    {
+        return cadenas;
+    }
+
+    /**
+     * Retorna la última cadena de la página, que es el punto desde donde continúa la página siguiente
+     * @return La última cadena de la página, o null si la página está vacía
+     */
+    public String getCursor( )
+    {
+        return cursor;
+    }
+
+    /**
+     * Indica si quedan más cadenas en el rango después de esta página
+     * @return True si hay una página siguiente
+     */
+    public boolean hayMas( )
+    {
+        return hayMas;
+    }
+
+    /**
+     * Retorna el límite superior del rango de la página
+     * @return El límite superior, o null si el rango no tiene límite superior
+     */
+    public String getHasta( )
+    {
+        return hasta;
+    }
+
+    /**
+     * Indica si el límite superior hace parte del rango
+     * @return True si el límite superior está incluido
+     */
+    public boolean isIncluirHasta( )
+    {
+        return incluirHasta;
+    }
+
+    /**
+     * Retorna la cantidad máxima de cadenas por página
+     * @return El tamaño de página
+     */
+    public int getLimite( )
+    {
+        return limite;
+    }
+}
@@ -1,8 +1,11 @@
 package uniandes.dpoo.estructuras.logica;
 
+import java.text.Collator;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Esta clase tiene un conjunto de métodos para practicar operaciones sobre arreglos de enteros y de cadenas.
@@ -15,6 +18,13 @@ import java.util.HashMap;
  */
 public class SandboxArreglos
 {
+    /**
+     * La cantidad mínima de objetos a partir de la cual reiniciarArregloCadenasEnParalelo reparte la conversión entre varios procesadores.
+     * 
+     * Con arreglos más pequeños, convertir todos los objetos en el thread que llama toma menos tiempo que repartir el arreglo y esperar a que los procesadores terminen.
+     */
+    private static final int UMBRAL_PARALELO = 10000;
+
     /**
      * Un arreglo de enteros para realizar varias de las siguientes operaciones.
      * 
@@ -66,6 +76,29 @@ public class SandboxArreglos
         return copia;
     }
 
+    /**
+     * Retorna un stream que recorre directamente el arreglo de enteros, sin hacer una copia.
+     * 
+     * El stream puede usarse en paralelo. Los métodos que agregan o eliminan valores reemplazan el arreglo, así que un stream creado antes sigue recorriendo los valores
+     * anteriores; los métodos que modifican el arreglo en su lugar (volverPositivos, organizarEnteros) sí se verían en el recorrido.
+     * @return Un stream con los valores del arreglo de enteros
+     */
+    public IntStream getEnterosComoStream( )
+    {
+    	return Arrays.stream(arregloEnteros);
+    }
+
+    /**
+     * Retorna un stream que recorre directamente el arreglo de cadenas, sin hacer una copia.
+     * 
+     * El stream puede usarse en paralelo. Igual que en getEnterosComoStream, un stream creado antes de agregar o eliminar cadenas sigue recorriendo el arreglo anterior.
+     * @return Un stream con las cadenas del arreglo
+     */
+    public Stream<String> getCadenasComoStream( )
+    {
+    	return Arrays.stream(arregloCadenas);
+    }
+
     /**
      * Retorna la cantidad de valores en el arreglo de enteros
      * @return
@@ -255,6 +288,25 @@ public class SandboxArreglos
     	arregloCadenas = arregloNuevo;
     }
 
+    /**
+     * Reinicia el arreglo de cadenas con las representaciones como Strings de los objetos contenidos en el arreglo del parámetro 'objetos', haciendo las conversiones en
+     * paralelo.
+     * 
+     * Si hay pocos objetos, las conversiones se hacen en orden sin usar varios procesadores. El nuevo arreglo sólo reemplaza al anterior cuando todas las cadenas están listas.
+     * @param objetos Un arreglo de objetos
+     */
+    public void reiniciarArregloCadenasEnParalelo( Object[] objetos )
+    {
+    	if (objetos.length < UMBRAL_PARALELO)
+    	{
+    		reiniciarArregloCadenas(objetos);
+    		return;
+    	}
+    	String[] arregloNuevo = new String[objetos.length];
+    	Arrays.parallelSetAll(arregloNuevo, i -> objetos[i].toString());
+    	arregloCadenas = arregloNuevo;
+    }
+
     /**
      * Modifica el arreglo de enteros para que todos los valores sean positivos.
      * 
@@ -288,6 +340,17 @@ public class SandboxArreglos
     	Arrays.sort(arregloCadenas);
     }
 
+    /**
+     * Modifica el arreglo de cadenas para que todos los valores queden organizados según las reglas de un idioma.
+     * 
+     * La llave de cotejo de cada cadena se calcula una sola vez, en lugar de aplicar las reglas del Collator en cada comparación del ordenamiento.
+     * @param cotejador El Collator que define el orden, por ejemplo Collator.getInstance(new Locale("es"))
+     */
+    public void organizarCadenas( Collator cotejador )
+    {
+    	ConjuntoCotejado.ordenar(arregloCadenas, cotejador);
+    }
+
     /**
      * Cuenta cuántas veces aparece el valor recibido por parámetro en el arreglo de enteros
      * @param valor El valor buscado
@@ -434,7 +497,7 @@ public class SandboxArreglos
      */
     public boolean compararArregloEnteros( int[] otroArreglo )
     {
-        return Arrays.compare(arregloEnteros, otroArreglo) == 0;
+        return Arrays.equals(arregloEnteros, otroArreglo);
     }
 
     /**
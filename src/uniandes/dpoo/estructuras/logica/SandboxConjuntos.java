@@ -1,10 +1,18 @@
 package uniandes.dpoo.estructuras.logica;
 
+import java.text.Collator;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
  * Esta clase tiene un conjunto de métodos para practicar operaciones sobre conjuntos implementados usando un árbol (TreeSet).
@@ -23,6 +31,9 @@ public class SandboxConjuntos
      * Un conjunto (set) de cadenas para realizar varias de las siguientes operaciones.
      * 
      * Por defecto, los elementos del conjunto están ordenados lexicográficamente.
+     * 
+     * Las cadenas se guardan en un TreeSet envuelto en un ConjuntoCadenasIndexado, que lleva la versión del conjunto y conserva la instantánea ordenada de cada versión.
+     * En el modo concurrente (crearConcurrente) las cadenas se guardan directamente en un ConcurrentSkipListSet, sin el ConjuntoCadenasIndexado.
      */
     private NavigableSet<String> arbolCadenas;
 
@@ -31,7 +42,113 @@ public class SandboxConjuntos
      */
     public SandboxConjuntos( )
     {
-        arbolCadenas = new TreeSet<String>( );
+        this( new ConjuntoCadenasIndexado( new TreeSet<String>( ) ) );
+    }
+
+    /**
+     * Crea una nueva instancia de la clase cuyas cadenas se guardan en el conjunto recibido
+     * @param conjunto Un conjunto vacío, ordenado lexicográficamente
+     */
+    private SandboxConjuntos( NavigableSet<String> conjunto )
+    {
+        arbolCadenas = conjunto;
+    }
+
+    /**
+     * Crea una nueva instancia de la clase que guarda sus cadenas en un árbol radix (ArbolRadix) en lugar de un TreeSet.
+     * 
+     * El árbol radix guarda una sola vez los prefijos que comparten las cadenas, lo cual ahorra memoria cuando hay muchas cadenas con prefijos largos (rutas,
+     * identificadores jerárquicos). El orden de las cadenas es el mismo, así que todos los métodos se comportan igual.
+     * @return Una nueva instancia vacía
+     */
+    public static SandboxConjuntos crearConArbolRadix( )
+    {
+        return new SandboxConjuntos( new ConjuntoCadenasIndexado( new ArbolRadix( ) ) );
+    }
+
+    /**
+     * Crea una nueva instancia de la clase que guarda sus cadenas en un árbol de estadísticas de orden (ArbolEstadisticoOrden) en lugar de un TreeSet.
+     * 
+     * Con este árbol, getCadenaEnPosicion, getPosicion y getPercentil toman tiempo logarítmico incluso cuando el conjunto se modifica constantemente.
+     * @return Una nueva instancia vacía
+     */
+    public static SandboxConjuntos crearConArbolEstadistico( )
+    {
+        return new SandboxConjuntos( new ConjuntoCadenasIndexado( new ArbolEstadisticoOrden( ) ) );
+    }
+
+    /**
+     * Crea una nueva instancia de la clase que guarda sus cadenas en un árbol persistente (ArbolPersistente) en lugar de un TreeSet.
+     * 
+     * Cada modificación del árbol persistente copia sólo los nodos del camino que cambia, así que copiar toma tiempo constante: la copia y el original comparten todos los
+     * nodos hasta que alguno de los dos se modifique.
+     * @return Una nueva instancia vacía
+     */
+    public static SandboxConjuntos crearConArbolPersistente( )
+    {
+        return new SandboxConjuntos( new ConjuntoCadenasIndexado( new ArbolPersistente( ) ) );
+    }
+
+    /**
+     * Crea una nueva instancia de la clase cuyas cadenas se ordenan según las reglas de un idioma en lugar del orden lexicográfico (por ejemplo, con
+     * Collator.getInstance(new Locale("es")) "árbol" queda entre "arco" y "barco").
+     * 
+     * Las cadenas se guardan en un ConjuntoCotejado, que calcula una sola vez la llave de cotejo de cada cadena, así que navegar por el conjunto no vuelve a aplicar las
+     * reglas del Collator en cada comparación. Todos los métodos que retornan cadenas en orden usan el orden del Collator. Las cadenas que el Collator considera iguales se
+     * tratan como la misma cadena. Un conjunto en este orden no se puede congelar ni usar el filtro de Bloom.
+     * @param cotejador El Collator que define el orden
+     * @return Una nueva instancia vacía
+     */
+    public static SandboxConjuntos crearConOrdenCotejado( Collator cotejador )
+    {
+        return new SandboxConjuntos( new ConjuntoCadenasIndexado( new ConjuntoCotejado( cotejador ) ) );
+    }
+
+    /**
+     * Crea una nueva instancia de la clase que se puede usar desde varios threads a la vez, sin sincronización externa.
+     * 
+     * Las cadenas se guardan en un ConcurrentSkipListSet, que no usa bloqueos: agregarCadena, eliminarCadena, getPrimera, getUltima y getSiguientes se pueden llamar
+     * desde muchos threads al tiempo sin bloquearse. Los recorridos son débilmente consistentes: nunca lanzan ConcurrentModificationException y reflejan algunas de las
+     * modificaciones que se hagan mientras recorren. getCantidadCadenas tiene que contar las cadenas, así que toma tiempo lineal.
+     * 
+     * En este modo no hay instantáneas compartidas ni índices: activarIndiceSinMayusculas, activarFiltroBloom, activarIndiceSimilares y congelar lanzan
+     * UnsupportedOperationException, y las operaciones que usan la instantánea construyen una nueva cada vez.
+     * @return Una nueva instancia vacía
+     */
+    public static SandboxConjuntos crearConcurrente( )
+    {
+        return new SandboxConjuntos( new ConcurrentSkipListSet<String>( ) );
+    }
+
+    /**
+     * Indica si la instancia está en modo concurrente
+     * @return True si las cadenas se guardan en un ConcurrentSkipListSet
+     */
+    public boolean esConcurrente( )
+    {
+    	return getIndexado() == null;
+    }
+
+    /**
+     * Retorna el conjunto indexado donde se guardan las cadenas, o null si la instancia está en modo concurrente
+     */
+    private ConjuntoCadenasIndexado getIndexado( )
+    {
+    	return arbolCadenas instanceof ConjuntoCadenasIndexado ? (ConjuntoCadenasIndexado) arbolCadenas : null;
+    }
+
+    /**
+     * Retorna el conjunto indexado donde se guardan las cadenas
+     * @throws UnsupportedOperationException Si la instancia está en modo concurrente
+     */
+    private ConjuntoCadenasIndexado getIndexadoObligatorio( String operacion )
+    {
+    	ConjuntoCadenasIndexado indexado = getIndexado();
+    	if (indexado == null)
+    	{
+    		throw new UnsupportedOperationException(operacion + " no está disponible en modo concurrente");
+    	}
+    	return indexado;
     }
 
     /**
@@ -40,13 +157,7 @@ public class SandboxConjuntos
      */
     public List<String> getCadenasComoLista( )
     {
-    	List<String> lista = new ArrayList<String>();
-    	for (String cadena: arbolCadenas)
-    	{
-    		lista.addLast(cadena);
-    	}
-    	lista.sort(null);
-        return lista;
+        return new ArrayList<String>(getInstantanea());
     }
 
     /**
@@ -55,7 +166,180 @@ public class SandboxConjuntos
      */
     public List<String> getCadenasComoListaInvertida( )
     {
-        return getCadenasComoLista().reversed();
+        return new ArrayList<String>(getInstantanea().invertida());
+    }
+
+    /**
+     * Retorna una instantánea inmutable de las cadenas del conjunto, ordenadas lexicográficamente.
+     * 
+     * La instantánea se construye una sola vez después de cada modificación del conjunto y se comparte entre todos los llamados hasta la siguiente modificación. Permite
+     * consultar cualquier posición en tiempo constante, tanto en orden normal (get) como en orden inverso (getInvertida).
+     * 
+     * En modo concurrente la instantánea se construye en cada llamado, a partir de un recorrido débilmente consistente del conjunto.
+     * @return La instantánea de las cadenas del conjunto
+     */
+    public InstantaneaCadenas getInstantanea( )
+    {
+    	ConjuntoCadenasIndexado indexado = getIndexado();
+    	if (indexado == null)
+    	{
+    		return new InstantaneaCadenas(arbolCadenas.toArray(new String[0]), 0);
+    	}
+    	return indexado.getInstantanea();
+    }
+
+    /**
+     * Retorna una copia independiente del conjunto: los cambios que se le hagan a la copia no afectan al original, ni al contrario. La copia no tiene los índices que se
+     * hayan activado en el original.
+     * 
+     * Si las cadenas están en un árbol persistente, la copia toma tiempo constante. Si no, las cadenas se cargan en un conjunto nuevo en tiempo lineal.
+     * @return La copia del conjunto
+     */
+    public SandboxConjuntos copiar( )
+    {
+    	ConjuntoCadenasIndexado indexado = getIndexado();
+    	if (indexado != null && indexado.getDelegado() instanceof ArbolPersistente)
+    	{
+    		return new SandboxConjuntos(new ConjuntoCadenasIndexado(((ArbolPersistente) indexado.getDelegado()).copiar()));
+    	}
+    	SandboxConjuntos copia = crearVacioConMismoOrden();
+    	copia.cargar(getInstantanea().getArreglo().clone());
+    	return copia;
+    }
+
+    /**
+     * Crea una nueva instancia vacía que guarda sus cadenas en el mismo tipo de conjunto y en el mismo orden que esta instancia
+     */
+    private SandboxConjuntos crearVacioConMismoOrden( )
+    {
+    	ConjuntoCadenasIndexado indexado = getIndexado();
+    	if (indexado == null)
+    	{
+    		return crearConcurrente();
+    	}
+    	return new SandboxConjuntos(new ConjuntoCadenasIndexado(indexado.crearDelegadoVacio()));
+    }
+
+    /**
+     * Agrega al conjunto, que debe estar vacío, todas las cadenas de un arreglo. En el orden lexicográfico se usa la carga en tiempo lineal de ConjuntoArregloOrdenado. El
+     * arreglo puede quedar reorganizado.
+     */
+    private void cargar( String[] cadenas )
+    {
+    	if (arbolCadenas.comparator() == null)
+    	{
+    		arbolCadenas.addAll(ConjuntoArregloOrdenado.construir(cadenas));
+    	}
+    	else
+    	{
+    		arbolCadenas.addAll(Arrays.asList(cadenas));
+    	}
+    }
+
+    /**
+     * Retorna la cadena que está en una posición del conjunto, contando desde la menor.
+     * 
+     * Si el conjunto está en un árbol de estadísticas de orden o está congelado, la consulta toma tiempo logarítmico. Si no, usa la instantánea del conjunto, que se
+     * construye una vez por cada modificación.
+     * @param posicion La posición, entre 0 y getCantidadCadenas() - 1
+     * @return La cadena en esa posición
+     */
+    public String getCadenaEnPosicion( int posicion )
+    {
+    	ConjuntoCadenasIndexado indexado = getIndexado();
+    	if (indexado == null)
+    	{
+    		return getInstantanea().get(posicion);
+    	}
+    	return indexado.getCadena(posicion);
+    }
+
+    /**
+     * Retorna la cantidad de cadenas del conjunto que son lexicográficamente menores que la cadena dada.
+     * @param cadena La cadena
+     * @return La cantidad de cadenas menores, que es la posición que ocupa (u ocuparía) la cadena en el conjunto
+     */
+    public int getPosicion( String cadena )
+    {
+    	ConjuntoCadenasIndexado indexado = getIndexado();
+    	if (indexado == null)
+    	{
+    		return arbolCadenas.headSet(cadena, false).size();
+    	}
+    	return indexado.getPosicion(cadena);
+    }
+
+    /**
+     * Retorna la cadena del conjunto que corresponde a un percentil: la menor cadena tal que al menos el porcentaje dado de las cadenas del conjunto son menores o iguales
+     * a ella.
+     * @param percentil El percentil, entre 0 y 100
+     * @return La cadena del percentil, o null si el conjunto está vacío
+     */
+    public String getPercentil( double percentil )
+    {
+    	if (percentil < 0 || percentil > 100)
+    	{
+    		throw new IllegalArgumentException("El percentil debe estar entre 0 y 100: " + percentil);
+    	}
+    	if (getIndexado() == null)
+    	{
+    		InstantaneaCadenas instantanea = getInstantanea();
+    		return instantanea.isEmpty() ? null : instantanea.get(posicionPercentil(percentil, instantanea.size()));
+    	}
+    	int cantidad = arbolCadenas.size();
+    	if (cantidad == 0)
+    	{
+    		return null;
+    	}
+    	return getCadenaEnPosicion(posicionPercentil(percentil, cantidad));
+    }
+
+    /**
+     * Calcula la posición de la cadena de un percentil en un conjunto con la cantidad de cadenas dada
+     */
+    private static int posicionPercentil( double percentil, int cantidad )
+    {
+    	return Math.max(0, (int) Math.ceil(percentil / 100 * cantidad) - 1);
+    }
+
+    /**
+     * Congela el conjunto: las cadenas pasan a guardarse en un ConjuntoCompacto, que las comprime por prefijos y ocupa mucha menos memoria que un TreeSet.
+     * 
+     * Mientras el conjunto está congelado todas las consultas funcionan igual, pero las operaciones que lo modifican lanzan UnsupportedOperationException.
+     */
+    public void congelar( )
+    {
+    	ConjuntoCadenasIndexado indexado = getIndexadoObligatorio("congelar");
+    	if (arbolCadenas.comparator() != null)
+    	{
+    		throw new UnsupportedOperationException("Sólo se puede congelar un conjunto en orden lexicográfico");
+    	}
+    	if (!estaCongelado())
+    	{
+    		indexado.congelar(indexado.crearDelegadoVacio());
+    	}
+    }
+
+    /**
+     * Descongela el conjunto: las cadenas vuelven a guardarse en el mismo tipo de conjunto que tenían antes de congelarlo (un TreeSet, que se construye en tiempo lineal a
+     * partir del conjunto congelado, o el árbol con el que se creó la instancia).
+     */
+    public void descongelar( )
+    {
+    	if (estaCongelado())
+    	{
+    		getIndexado().descongelar();
+    	}
+    }
+
+    /**
+     * Indica si el conjunto está congelado
+     * @return True si las cadenas están en un ConjuntoCompacto y no se pueden modificar
+     */
+    public boolean estaCongelado( )
+    {
+    	ConjuntoCadenasIndexado indexado = getIndexado();
+    	return indexado != null && indexado.getDelegado() instanceof ConjuntoCompacto;
     }
 
     /**
@@ -66,11 +350,9 @@ public class SandboxConjuntos
      */
     public String getPrimera( )
     {
-    	if (arbolCadenas.size()==0)
-    	{
-    		return null;
-    	}
-        return arbolCadenas.getFirst();
+    	// Se usa el iterador en lugar de size() y getFirst() para que la consulta sea atómica en modo concurrente
+    	Iterator<String> iterador = arbolCadenas.iterator();
+    	return iterador.hasNext() ? iterador.next() : null;
     }
 
     /**
@@ -81,11 +363,8 @@ public class SandboxConjuntos
      */
     public String getUltima( )
     {
-    	if (arbolCadenas.size()==0)
-    	{
-    		return null;
-    	}
-    	return arbolCadenas.getLast();
+    	Iterator<String> iterador = arbolCadenas.descendingIterator();
+    	return iterador.hasNext() ? iterador.next() : null;
     }
 
     /**
@@ -95,15 +374,132 @@ public class SandboxConjuntos
      */
     public Collection<String> getSiguientes( String cadena )
     {
-    	Collection<String> coleccion = new ArrayList<String>();
-    	for (String elemento: arbolCadenas)
+    	return new ArrayList<String>(arbolCadenas.tailSet(cadena, true));
+    }
+
+    /**
+     * Retorna las cadenas del conjunto que empiezan por un prefijo, ordenadas lexicográficamente.
+     * 
+     * Si las cadenas están en un árbol radix, la búsqueda toma un tiempo proporcional al tamaño del prefijo más la cantidad de cadenas retornadas.
+     * @param prefijo El prefijo que deben tener las cadenas
+     * @param limite La cantidad máxima de cadenas que se deben retornar
+     * @return Una lista con las primeras cadenas (máximo 'limite') que empiezan por el prefijo
+     */
+    public List<String> getConPrefijo( String prefijo, int limite )
+    {
+    	ConjuntoCadenasIndexado indexado = getIndexado();
+    	if (indexado != null && indexado.getDelegado() instanceof ArbolRadix)
+    	{
+    		return ((ArbolRadix) indexado.getDelegado()).buscarPorPrefijo(prefijo, limite);
+    	}
+    	List<String> resultado = new ArrayList<String>();
+    	if (arbolCadenas.comparator() != null)
     	{
-    		if(cadena.compareTo(elemento)<=0)
+    		// En otro orden las cadenas con el prefijo no necesariamente están seguidas
+    		for (String cadena: arbolCadenas)
     		{
-    			coleccion.add(elemento);
+    			if (resultado.size() < limite && cadena.startsWith(prefijo))
+    			{
+    				resultado.add(cadena);
+    			}
+    		}
+    		return resultado;
+    	}
+    	Iterator<String> iterador = arbolCadenas.tailSet(prefijo, true).iterator();
+    	while (resultado.size() < limite && iterador.hasNext())
+    	{
+    		String cadena = iterador.next();
+    		if (!cadena.startsWith(prefijo))
+    		{
+    			break;
     		}
+    		resultado.add(cadena);
+    	}
+    	return resultado;
+    }
+
+    /**
+     * Retorna una vista de las cadenas del conjunto que están entre dos límites.
+     * 
+     * La vista no es una copia: se construye sin recorrer el conjunto y refleja los cambios que se le hagan después. La vista no se puede modificar.
+     * @param desde El límite inferior del rango, o null si el rango no tiene límite inferior
+     * @param incluirDesde Indica si el límite inferior hace parte del rango
+     * @param hasta El límite superior del rango, o null si el rango no tiene límite superior
+     * @param incluirHasta Indica si el límite superior hace parte del rango
+     * @return Un conjunto de sólo lectura con las cadenas del rango, ordenadas lexicográficamente
+     */
+    public NavigableSet<String> getRango( String desde, boolean incluirDesde, String hasta, boolean incluirHasta )
+    {
+    	return Collections.unmodifiableNavigableSet(rango(desde, incluirDesde, hasta, incluirHasta));
+    }
+
+    /**
+     * Retorna la primera página de las cadenas del conjunto que están entre dos límites.
+     * 
+     * Sólo se recorren las cadenas que quedan en la página, así que el costo no depende del tamaño del conjunto. Para obtener las páginas siguientes se usa
+     * getPaginaSiguiente.
+     * @param desde El límite inferior del rango, o null si el rango no tiene límite inferior
+     * @param incluirDesde Indica si el límite inferior hace parte del rango
+     * @param hasta El límite superior del rango, o null si el rango no tiene límite superior
+     * @param incluirHasta Indica si el límite superior hace parte del rango
+     * @param limite La cantidad máxima de cadenas en cada página. Debe ser mayor que 0.
+     * @return La primera página del rango
+     * @throws IllegalArgumentException Si el límite no es mayor que 0
+     */
+    public PaginaCadenas getPagina( String desde, boolean incluirDesde, String hasta, boolean incluirHasta, int limite )
+    {
+    	if (limite <= 0)
+    	{
+    		throw new IllegalArgumentException("El límite de la página debe ser mayor que 0: " + limite);
+    	}
+    	List<String> cadenas = new ArrayList<String>();
+    	Iterator<String> iterador = rango(desde, incluirDesde, hasta, incluirHasta).iterator();
+    	while (cadenas.size() < limite && iterador.hasNext())
+    	{
+    		cadenas.addLast(iterador.next());
+    	}
+    	return new PaginaCadenas(cadenas, iterador.hasNext(), hasta, incluirHasta, limite);
+    }
+
+    /**
+     * Retorna la página que sigue a una página obtenida antes con getPagina o getPaginaSiguiente.
+     * 
+     * La página siguiente empieza después de la última cadena de la página anterior, así que funciona aunque el conjunto se haya modificado entre los dos llamados.
+     * @param anterior La página anterior
+     * @return La página siguiente. Si la página anterior estaba vacía, la página retornada también lo está.
+     */
+    public PaginaCadenas getPaginaSiguiente( PaginaCadenas anterior )
+    {
+    	if (anterior.getCursor() == null)
+    	{
+    		return new PaginaCadenas(new ArrayList<String>(), false, anterior.getHasta(), anterior.isIncluirHasta(), anterior.getLimite());
+    	}
+    	return getPagina(anterior.getCursor(), false, anterior.getHasta(), anterior.isIncluirHasta(), anterior.getLimite());
+    }
+
+    /**
+     * Retorna la vista del conjunto de cadenas que corresponde a un rango. Un límite null significa que el rango no está limitado por ese lado.
+     */
+    private NavigableSet<String> rango( String desde, boolean incluirDesde, String hasta, boolean incluirHasta )
+    {
+    	if (desde == null && hasta == null)
+    	{
+    		return arbolCadenas;
+    	}
+    	if (desde == null)
+    	{
+    		return arbolCadenas.headSet(hasta, incluirHasta);
+    	}
+    	if (hasta == null)
+    	{
+    		return arbolCadenas.tailSet(desde, incluirDesde);
     	}
-        return coleccion;
+    	Comparator<? super String> orden = arbolCadenas.comparator();
+    	if ((orden == null ? desde.compareTo(hasta) : orden.compare(desde, hasta)) > 0)
+    	{
+    		return Collections.emptyNavigableSet();
+    	}
+    	return arbolCadenas.subSet(desde, incluirDesde, hasta, incluirHasta);
     }
 
     /**
@@ -142,6 +538,16 @@ public class SandboxConjuntos
      */
     public void eliminarCadenaSinMayusculasOMinusculas( String cadena )
     {
+    	IndiceSinMayusculas indice = getIndiceSinMayusculas();
+    	if (indice != null)
+    	{
+    		String original = indice.buscar(cadena);
+    		if (original != null)
+    		{
+    			arbolCadenas.remove(original);
+    		}
+    		return;
+    	}
     	String aEliminar;
     	for (String elemento: arbolCadenas)
     	{
@@ -154,6 +560,51 @@ public class SandboxConjuntos
     	}
     }
 
+    /**
+     * Verifica si el conjunto tiene una cadena igual a la cadena dada, independientemente de las mayúsculas o minúsculas
+     * @param cadena La cadena buscada
+     * @return True si alguna cadena del conjunto es igual a la buscada sin tener en cuenta mayúsculas y minúsculas
+     */
+    public boolean contieneSinMayusculasOMinusculas( String cadena )
+    {
+    	IndiceSinMayusculas indice = getIndiceSinMayusculas();
+    	if (indice != null)
+    	{
+    		return indice.buscar(cadena) != null;
+    	}
+    	for (String elemento: arbolCadenas)
+    	{
+    		if (cadena.compareToIgnoreCase(elemento)==0)
+    		{
+    			return true;
+    		}
+    	}
+    	return false;
+    }
+
+    /**
+     * Activa el índice de cadenas sin mayúsculas ni minúsculas.
+     * 
+     * Con el índice activo, eliminarCadenaSinMayusculasOMinusculas y contieneSinMayusculasOMinusculas encuentran la cadena en tiempo constante en lugar de recorrer todo
+     * el conjunto. El índice se mantiene al día con todas las operaciones que modifican el conjunto.
+     */
+    public void activarIndiceSinMayusculas( )
+    {
+    	if (getIndiceSinMayusculas() == null)
+    	{
+    		getIndexadoObligatorio("activarIndiceSinMayusculas").agregarIndice(new IndiceSinMayusculas());
+    	}
+    }
+
+    /**
+     * Retorna el índice de cadenas sin mayúsculas ni minúsculas, o null si no está activo
+     */
+    private IndiceSinMayusculas getIndiceSinMayusculas( )
+    {
+    	ConjuntoCadenasIndexado indexado = getIndexado();
+    	return indexado == null ? null : indexado.getIndice(IndiceSinMayusculas.class);
+    }
+
     /**
      * Elimina la primera cadena del conjunto
      */
@@ -170,11 +621,15 @@ public class SandboxConjuntos
      */
     public void reiniciarConjuntoCadenas( List<Object> objetos )
     {
-    	arbolCadenas.clear();
+    	String[] cadenas = new String[objetos.size()];
+    	int i = 0;
     	for (Object objeto: objetos)
     	{
-    		arbolCadenas.add(objeto.toString());
+    		cadenas[i] = objeto.toString();
+    		i++;
     	}
+    	arbolCadenas.clear();
+    	cargar(cadenas);
     }
 
     /**
@@ -184,12 +639,54 @@ public class SandboxConjuntos
      */
     public void volverMayusculas( )
     {
-    	NavigableSet<String> arbolMayus = new TreeSet<String>();
-    	for (String cadena: arbolCadenas)
+    	String[] mayusculas = arbolCadenas.toArray(new String[0]);
+    	for (int i = 0; i < mayusculas.length; i++)
     	{
-    		arbolMayus.add(cadena.toUpperCase());
+    		mayusculas[i] = aMayusculas(mayusculas[i]);
     	}
-    	arbolCadenas = arbolMayus;
+    	arbolCadenas.clear();
+    	cargar(mayusculas);
+    }
+
+    /**
+     * Convierte una cadena a mayúsculas, igual que String.toUpperCase().
+     * 
+     * Si la cadena sólo tiene caracteres ASCII, la conversión se hace directamente sobre los caracteres (y si ya está en mayúsculas se retorna la misma cadena). Esto no
+     * aplica con el idioma turco o azerí, donde la 'i' se vuelve una 'İ'.
+     */
+    private static String aMayusculas( String cadena )
+    {
+    	String idioma = Locale.getDefault().getLanguage();
+    	if (idioma.equals("tr") || idioma.equals("az"))
+    	{
+    		return cadena.toUpperCase();
+    	}
+    	int primeraMinuscula = -1;
+    	for (int i = 0; i < cadena.length(); i++)
+    	{
+    		char letra = cadena.charAt(i);
+    		if (letra >= 0x80)
+    		{
+    			return cadena.toUpperCase();
+    		}
+    		if (primeraMinuscula < 0 && letra >= 'a' && letra <= 'z')
+    		{
+    			primeraMinuscula = i;
+    		}
+    	}
+    	if (primeraMinuscula < 0)
+    	{
+    		return cadena;
+    	}
+    	char[] letras = cadena.toCharArray();
+    	for (int i = primeraMinuscula; i < letras.length; i++)
+    	{
+    		if (letras[i] >= 'a' && letras[i] <= 'z')
+    		{
+    			letras[i] = (char) (letras[i] - ('a' - 'A'));
+    		}
+    	}
+    	return new String(letras);
     }
 
     /**
@@ -205,15 +702,45 @@ public class SandboxConjuntos
     	return (TreeSet<String>) arbol.reversed();
     }
 
+    /**
+     * Retorna una vista de las cadenas del conjunto organizadas de MAYOR a MENOR.
+     * 
+     * A diferencia de invertirCadenas, la vista no copia las cadenas: se construye en tiempo constante y refleja los cambios que se le hagan al conjunto después. La
+     * vista no se puede modificar.
+     * @return Un conjunto de sólo lectura con las cadenas en orden inverso
+     */
+    public NavigableSet<String> getCadenasInvertidas( )
+    {
+    	return Collections.unmodifiableNavigableSet(arbolCadenas.descendingSet());
+    }
+
     /**
      * Verifica si todos los elementos en el arreglo de cadenas del parámetro hacen parte del conjunto de cadenas
+     * 
+     * Si el arreglo está ordenado y es grande comparado con el conjunto, se recorren el arreglo y el conjunto a la vez, en una sola pasada. Si no, se busca cada cadena en
+     * el conjunto; cuando el filtro de Bloom está activo, las cadenas que no están se descartan sin tocar el árbol.
      * @param otroArreglo El arreglo de enteros con el que se debe comparar
      * @return True si todos los elementos del arreglo están dentro del conjunto
      */
     public boolean compararElementos( String[] otroArreglo )
     {
+    	int cantidad = arbolCadenas.size();
+    	if (arbolCadenas.comparator() == null && otroArreglo.length * (long) (32 - Integer.numberOfLeadingZeros(cantidad)) >= cantidad
+    		&& ConjuntoArregloOrdenado.estaOrdenado(otroArreglo))
+    	{
+    		return compararElementosOrdenados(otroArreglo);
+    	}
+    	FiltroBloom filtro = getFiltroBloom();
+    	if (filtro != null && filtro.estaSaturado())
+    	{
+    		filtro.reconstruir(arbolCadenas);
+    	}
     	for (String cadena: otroArreglo)
     	{
+    		if (filtro != null && !filtro.puedeContener(cadena))
+    		{
+    			return false;
+    		}
     		if (!arbolCadenas.contains(cadena))
     		{
     			return false;
@@ -222,4 +749,215 @@ public class SandboxConjuntos
         return true;
     }
 
+    /**
+     * Verifica si todos los elementos de un arreglo ordenado hacen parte del conjunto, avanzando sobre el conjunto a medida que se avanza sobre el arreglo
+     */
+    private boolean compararElementosOrdenados( String[] otroArreglo )
+    {
+    	Iterator<String> iterador = arbolCadenas.iterator();
+    	String actual = null;
+    	for (String cadena: otroArreglo)
+    	{
+    		while (actual == null || actual.compareTo(cadena) < 0)
+    		{
+    			if (!iterador.hasNext())
+    			{
+    				return false;
+    			}
+    			actual = iterador.next();
+    		}
+    		if (!actual.equals(cadena))
+    		{
+    			return false;
+    		}
+    	}
+    	return true;
+    }
+
+    /**
+     * Activa el filtro de Bloom del conjunto.
+     * 
+     * Con el filtro activo, compararElementos descarta la mayoría de las cadenas que no están en el conjunto sin buscarlas en el árbol. El filtro se mantiene al día con
+     * todas las operaciones que modifican el conjunto y se reconstruye solo cuando se satura.
+     *
+     * El filtro no se puede usar con un orden cotejado: el filtro reconoce las cadenas exactas, y en ese orden una cadena diferente (por ejemplo con otras tildes) puede
+     * estar en el conjunto.
+     * @throws UnsupportedOperationException Si la instancia está en modo concurrente o sus cadenas tienen un orden cotejado
+     */
+    public void activarFiltroBloom( )
+    {
+    	if (arbolCadenas.comparator() != null)
+    	{
+    		throw new UnsupportedOperationException("El filtro de Bloom sólo se puede activar en un conjunto en orden lexicográfico");
+    	}
+    	if (getFiltroBloom() == null)
+    	{
+    		getIndexadoObligatorio("activarFiltroBloom").agregarIndice(new FiltroBloom());
+    	}
+    }
+
+    /**
+     * Retorna el filtro de Bloom del conjunto, o null si no está activo
+     */
+    private FiltroBloom getFiltroBloom( )
+    {
+    	ConjuntoCadenasIndexado indexado = getIndexado();
+    	return indexado == null ? null : indexado.getIndice(FiltroBloom.class);
+    }
+
+    /**
+     * Busca las cadenas del conjunto que se parecen a la cadena dada: las que se pueden obtener a partir de ella con a lo sumo 'distanciaMaxima' inserciones,
+     * eliminaciones o reemplazos de caracteres.
+     * 
+     * Si el índice de similares está activo, la búsqueda sólo compara la cadena contra una fracción pequeña del conjunto. Si no, la compara contra todas las cadenas.
+     * @param cadena La cadena buscada
+     * @param distanciaMaxima La distancia de edición máxima
+     * @return Las cadenas parecidas, ordenadas lexicográficamente
+     */
+    public List<String> buscarSimilares( String cadena, int distanciaMaxima )
+    {
+    	ArbolBK indice = getIndiceSimilares();
+    	if (indice != null)
+    	{
+    		return indice.buscar(cadena, distanciaMaxima);
+    	}
+    	List<String> similares = new ArrayList<String>();
+    	for (String elemento: arbolCadenas)
+    	{
+    		if (ArbolBK.calcularDistancia(cadena, elemento) <= distanciaMaxima)
+    		{
+    			similares.add(elemento);
+    		}
+    	}
+    	return similares;
+    }
+
+    /**
+     * Activa el índice de similares, un árbol BK que buscarSimilares usa para no comparar la cadena buscada contra todo el conjunto. El índice se mantiene al día con
+     * todas las operaciones que modifican el conjunto.
+     */
+    public void activarIndiceSimilares( )
+    {
+    	if (getIndiceSimilares() == null)
+    	{
+    		getIndexadoObligatorio("activarIndiceSimilares").agregarIndice(new ArbolBK());
+    	}
+    }
+
+    /**
+     * Retorna el índice de similares, o null si no está activo
+     */
+    private ArbolBK getIndiceSimilares( )
+    {
+    	ConjuntoCadenasIndexado indexado = getIndexado();
+    	return indexado == null ? null : indexado.getIndice(ArbolBK.class);
+    }
+
+    /**
+     * Construye un nuevo conjunto con las cadenas que están en este conjunto o en el otro.
+     * 
+     * Esta operación y las siguientes recorren los dos conjuntos a la vez en orden, así que toman un tiempo lineal en lugar de buscar cada cadena en el otro conjunto.
+     * Cuando un conjunto es mucho más pequeño que el otro, las cadenas del grande se saltan en bloques con búsquedas exponenciales.
+     * @param otro El otro conjunto
+     * @return Un conjunto nuevo con la unión de los dos conjuntos
+     */
+    public SandboxConjuntos union( SandboxConjuntos otro )
+    {
+    	return combinar(CombinacionCadenas.UNION, otro);
+    }
+
+    /**
+     * Construye un nuevo conjunto con las cadenas que están tanto en este conjunto como en el otro.
+     * @param otro El otro conjunto
+     * @return Un conjunto nuevo con la intersección de los dos conjuntos
+     */
+    public SandboxConjuntos interseccion( SandboxConjuntos otro )
+    {
+    	return combinar(CombinacionCadenas.INTERSECCION, otro);
+    }
+
+    /**
+     * Construye un nuevo conjunto con las cadenas de este conjunto que no están en el otro.
+     * @param otro El otro conjunto
+     * @return Un conjunto nuevo con la diferencia entre este conjunto y el otro
+     */
+    public SandboxConjuntos diferencia( SandboxConjuntos otro )
+    {
+    	return combinar(CombinacionCadenas.DIFERENCIA, otro);
+    }
+
+    /**
+     * Construye un nuevo conjunto con las cadenas que están en uno solo de los dos conjuntos.
+     * @param otro El otro conjunto
+     * @return Un conjunto nuevo con la diferencia simétrica de los dos conjuntos
+     */
+    public SandboxConjuntos diferenciaSimetrica( SandboxConjuntos otro )
+    {
+    	return combinar(CombinacionCadenas.DIFERENCIA_SIMETRICA, otro);
+    }
+
+    /**
+     * Cuenta las cadenas que están en este conjunto o en el otro, sin construir la unión.
+     * @param otro El otro conjunto
+     * @return El tamaño de la unión de los dos conjuntos
+     */
+    public int contarUnion( SandboxConjuntos otro )
+    {
+    	return CombinacionCadenas.UNION.contar(getInstantanea().getArreglo(), otro.getInstantanea().getArreglo(), getOrdenComun(otro));
+    }
+
+    /**
+     * Cuenta las cadenas que están tanto en este conjunto como en el otro, sin construir la intersección.
+     * @param otro El otro conjunto
+     * @return El tamaño de la intersección de los dos conjuntos
+     */
+    public int contarInterseccion( SandboxConjuntos otro )
+    {
+    	return CombinacionCadenas.INTERSECCION.contar(getInstantanea().getArreglo(), otro.getInstantanea().getArreglo(), getOrdenComun(otro));
+    }
+
+    /**
+     * Cuenta las cadenas de este conjunto que no están en el otro, sin construir la diferencia.
+     * @param otro El otro conjunto
+     * @return El tamaño de la diferencia entre este conjunto y el otro
+     */
+    public int contarDiferencia( SandboxConjuntos otro )
+    {
+    	return CombinacionCadenas.DIFERENCIA.contar(getInstantanea().getArreglo(), otro.getInstantanea().getArreglo(), getOrdenComun(otro));
+    }
+
+    /**
+     * Cuenta las cadenas que están en uno solo de los dos conjuntos, sin construir la diferencia simétrica.
+     * @param otro El otro conjunto
+     * @return El tamaño de la diferencia simétrica de los dos conjuntos
+     */
+    public int contarDiferenciaSimetrica( SandboxConjuntos otro )
+    {
+    	return CombinacionCadenas.DIFERENCIA_SIMETRICA.contar(getInstantanea().getArreglo(), otro.getInstantanea().getArreglo(), getOrdenComun(otro));
+    }
+
+    /**
+     * Combina las instantáneas de los dos conjuntos y carga el resultado, que ya está ordenado, en un conjunto nuevo
+     */
+    private SandboxConjuntos combinar( CombinacionCadenas combinacion, SandboxConjuntos otro )
+    {
+    	String[] cadenas = combinacion.calcular(getInstantanea().getArreglo(), otro.getInstantanea().getArreglo(), getOrdenComun(otro));
+    	SandboxConjuntos resultado = crearVacioConMismoOrden();
+    	resultado.cargar(cadenas);
+    	return resultado;
+    }
+
+    /**
+     * Retorna el orden de los dos conjuntos, que debe ser el mismo para poder combinarlos
+     * @throws IllegalArgumentException Si los conjuntos no están en el mismo orden
+     */
+    private Comparator<? super String> getOrdenComun( SandboxConjuntos otro )
+    {
+    	Comparator<? super String> orden = arbolCadenas.comparator();
+    	if (!Objects.equals(orden, otro.arbolCadenas.comparator()))
+    	{
+    		throw new IllegalArgumentException("Los dos conjuntos deben estar en el mismo orden");
+    	}
+    	return orden;
+    }
 }
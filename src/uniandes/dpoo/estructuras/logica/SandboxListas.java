@@ -1,8 +1,12 @@
 package uniandes.dpoo.estructuras.logica;
 
+import java.text.Collator;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Esta clase tiene un conjunto de métodos para practicar operaciones sobre listas de enteros y de cadenas.
@@ -17,10 +21,19 @@ import java.util.List;
  */
 public class SandboxListas
 {
+    /**
+     * La cantidad mínima de objetos a partir de la cual reiniciarArregloCadenasEnParalelo reparte la conversión entre varios procesadores.
+     * 
+     * Con listas más cortas se usa reiniciarArregloCadenas, que agrega las cadenas una por una a la lista actual sin crear una lista nueva.
+     */
+    private static final int UMBRAL_PARALELO = 10000;
+
     /**
      * Una lista de enteros para realizar varias de las siguientes operaciones.
+     * 
+     * La lista guarda los valores como enteros primitivos y mantiene una huella de su contenido.
      */
-    private List<Integer> listaEnteros;
+    private ListaEnteros listaEnteros;
 
     /**
      * Una lista de cadenas para realizar varias de las siguientes operaciones
@@ -32,7 +45,7 @@ public class SandboxListas
      */
     public SandboxListas( )
     {
-        listaEnteros = new ArrayList<Integer>( );
+        listaEnteros = new ListaEnteros( );
         listaCadenas = new LinkedList<String>( );
     }
 
@@ -70,12 +83,29 @@ public class SandboxListas
      */
     public int[] getEnterosComoArreglo( )
     {
-    	int[] arreglo = new int[listaEnteros.size()];
-    	for (int i = 0; i<listaEnteros.size(); i++)
-    	{
-    		arreglo[i] = listaEnteros.get(i).intValue();
-    	}
-        return arreglo;
+        return listaEnteros.aArreglo();
+    }
+
+    /**
+     * Retorna un stream que recorre directamente la lista de enteros, sin hacer una copia.
+     * 
+     * El stream puede usarse en paralelo. Si la lista cambia de tamaño o se reorganiza mientras se recorre, se lanza una ConcurrentModificationException.
+     * @return Un stream con los valores de la lista de enteros
+     */
+    public IntStream getEnterosComoStream( )
+    {
+    	return listaEnteros.flujo();
+    }
+
+    /**
+     * Retorna un stream que recorre directamente la lista de cadenas, sin hacer una copia.
+     * 
+     * El stream puede usarse en paralelo. Si la lista cambia de tamaño mientras se recorre, se lanza una ConcurrentModificationException.
+     * @return Un stream con las cadenas de la lista
+     */
+    public Stream<String> getCadenasComoStream( )
+    {
+    	return listaCadenas.stream();
     }
 
     /**
@@ -122,15 +152,7 @@ public class SandboxListas
      */
     public void eliminarEntero( int valorEliminado )
     {
-    	List<Integer> nuevaLista = new ArrayList<Integer>();
-    	for (Integer entero: listaEnteros)
-    	{
-    		if (entero.intValue()!=valorEliminado)
-    		{
-    			nuevaLista.addLast(entero);
-    		}
-    	}
-    	this.listaEnteros = nuevaLista;
+    	listaEnteros.filtrar(entero -> entero != valorEliminado);
     }
 
     /**
@@ -221,6 +243,31 @@ public class SandboxListas
     	}
     }
 
+    /**
+     * Reinicia la lista de cadenas con las representaciones como Strings de los objetos contenidos en la lista del parámetro 'objetos', haciendo las conversiones en
+     * paralelo.
+     * 
+     * Si hay muchos objetos, se crea una lista nueva del tamaño exacto y varios procesadores escriben cada uno sus cadenas directamente en ella. La nueva lista reemplaza a
+     * la anterior cuando todas las cadenas están listas. Si hay pocos objetos, se usa reiniciarArregloCadenas.
+     * @param objetos Una lista de objetos
+     */
+    public void reiniciarArregloCadenasEnParalelo( List<Object> objetos )
+    {
+    	if (objetos.size() < UMBRAL_PARALELO)
+    	{
+    		reiniciarArregloCadenas(objetos);
+    		return;
+    	}
+    	Object[] origen = objetos.toArray();
+    	List<String> listaNueva = new ArrayList<String>(origen.length);
+    	for (int i = 0; i < origen.length; i++)
+    	{
+    		listaNueva.addLast(null);
+    	}
+    	// Cada procesador escribe en posiciones diferentes y set no cambia el tamaño de la lista, así que no hace falta sincronizar
+    	IntStream.range(0, origen.length).parallel().forEach(i -> listaNueva.set(i, origen[i].toString()));
+    	listaCadenas = listaNueva;
+    }
 
     /**
      * Modifica la lista de enteros para que todos los valores sean positivos.
@@ -229,15 +276,26 @@ public class SandboxListas
      */
     public void volverPositivos( )
     {
-    	for (int i = 0; i<listaEnteros.size(); i++)
-    	{
-    		Integer entero = listaEnteros.get(i);
-    		if (entero.intValue()<0)
-    		{
-    			listaEnteros.set(i, (-1)*entero);
-    		}
-    		
-    	}
+    	listaEnteros.transformar(entero -> entero < 0 ? (-1)*entero : entero);
+    }
+
+    /**
+     * Activa el modo de operaciones diferidas sobre la lista de enteros.
+     * 
+     * Mientras el modo esté activo, volverPositivos y eliminarEntero no recorren la lista: sólo guardan la operación. Las operaciones guardadas se ejecutan todas juntas en
+     * un solo recorrido cuando otra operación necesita el contenido de la lista (por ejemplo organizarEnteros, contarApariciones o getCopiaEnteros).
+     */
+    public void activarOperacionesDiferidas( )
+    {
+    	listaEnteros.setModoDiferido(true);
+    }
+
+    /**
+     * Desactiva el modo de operaciones diferidas sobre la lista de enteros, aplicando las operaciones que estuvieran pendientes.
+     */
+    public void desactivarOperacionesDiferidas( )
+    {
+    	listaEnteros.setModoDiferido(false);
     }
 
     /**
@@ -245,8 +303,17 @@ public class SandboxListas
      */
     public void organizarEnteros( )
     {
-    	listaEnteros.sort(null);
-    	listaEnteros = listaEnteros.reversed();
+    	listaEnteros.ordenarDescendente(false);
+    }
+
+    /**
+     * Modifica la lista de enteros para que todos los valores queden organizados de MAYOR a MENOR, usando varios procesadores para ordenar.
+     * 
+     * Tiene el mismo resultado que organizarEnteros, pero para listas grandes el ordenamiento se reparte entre los procesadores disponibles.
+     */
+    public void organizarEnterosEnParalelo( )
+    {
+    	listaEnteros.ordenarDescendente(true);
     }
 
     /**
@@ -257,6 +324,24 @@ public class SandboxListas
     	listaCadenas.sort(null);
     }
 
+    /**
+     * Modifica la lista de cadenas para que todos los valores queden organizados según las reglas de un idioma.
+     * 
+     * La llave de cotejo de cada cadena se calcula una sola vez, en lugar de aplicar las reglas del Collator en cada comparación del ordenamiento.
+     * @param cotejador El Collator que define el orden, por ejemplo Collator.getInstance(new Locale("es"))
+     */
+    public void organizarCadenas( Collator cotejador )
+    {
+    	String[] cadenas = listaCadenas.toArray(new String[0]);
+    	ConjuntoCotejado.ordenar(cadenas, cotejador);
+    	ListIterator<String> iterador = listaCadenas.listIterator();
+    	for (String cadena: cadenas)
+    	{
+    		iterador.next();
+    		iterador.set(cadena);
+    	}
+    }
+
     /**
      * Cuenta cuántas veces aparece el valor recibido por parámetro en la lista de enteros
      * @param valor El valor buscado
@@ -264,15 +349,7 @@ public class SandboxListas
      */
     public int contarApariciones( int valor )
     {
-    	int i = 0;
-        for (Integer entero: listaEnteros)
-        {
-        	if (entero.intValue() == valor)
-        	{
-        		i++;
-        	}
-        }
-        return i;
+    	return listaEnteros.contar(valor);
     }
 
     /**
@@ -329,18 +406,39 @@ public class SandboxListas
      */
     public boolean compararArregloEnteros( int[] otroArreglo )
     {
-        if (listaEnteros.size()!=otroArreglo.length)
-        {
-        	return false;
-        }
-        for (int i = 0; i<listaEnteros.size(); i++)
-        {
-        	if (listaEnteros.get(i).intValue()!=otroArreglo[i])
-        	{
-        		return false;
-        	}
-        }
-    	return true;
+    	return listaEnteros.esIgual(otroArreglo);
+    }
+
+    /**
+     * Compara la lista de enteros con un arreglo de enteros y verifica si contienen los mismos elementos exactamente en el mismo orden.
+     * 
+     * La huella del arreglo permite descartar inmediatamente los arreglos diferentes, sin recorrer la lista. Sólo cuando las huellas coinciden se comparan los elementos.
+     * @param otroArreglo El arreglo de enteros con el que se debe comparar
+     * @param huellaOtroArreglo La huella del arreglo, calculada con calcularHuella
+     * @return True si los elementos son los mismos y en el mismo orden y false de lo contrario
+     */
+    public boolean compararArregloEnteros( int[] otroArreglo, long huellaOtroArreglo )
+    {
+    	return listaEnteros.esIgual(otroArreglo, huellaOtroArreglo);
+    }
+
+    /**
+     * Retorna la huella de la lista de enteros: un valor que depende de los enteros y de su orden, y que sirve para descartar rápidamente listas diferentes.
+     * @return La huella de la lista de enteros
+     */
+    public long getHuellaEnteros( )
+    {
+    	return listaEnteros.getHuella();
+    }
+
+    /**
+     * Calcula la huella de un arreglo de enteros, para compararlo con compararArregloEnteros( int[], long ).
+     * @param arreglo El arreglo de enteros
+     * @return La huella del arreglo
+     */
+    public static long calcularHuella( int[] arreglo )
+    {
+    	return ListaEnteros.calcularHuella(arreglo);
     }
 
     /**
@@ -355,12 +453,11 @@ public class SandboxListas
      */
     public void generarEnteros( int cantidad, int minimo, int maximo )
     {
-    	listaEnteros = new ArrayList<Integer>();
+    	listaEnteros.clear();
     	for (int i = 0; i < cantidad; i++)
     	{
     		int aleatorio = minimo + (int) (Math.random()*(maximo+1-minimo));
-    		Integer enteroAleatorio = aleatorio;
-    		listaEnteros.addLast(enteroAleatorio);
+    		listaEnteros.agregar(aleatorio);
     	}
     }
 
@@ -29,6 +29,9 @@ public class SandboxMapas
      * Las llaves del mapa son cadenas, así como los valores.
      * 
      * Las llaves corresponden a invertir la cadena que aparece asociada a cada llave.
+     * 
+     * Normalmente las parejas se guardan en un HashMap envuelto en un MapaCadenasIndexado, que mantiene ordenadas las llaves y los valores. En el modo compacto
+     * (crearCompacto) se guardan directamente en un MapaLlavesDerivadas, y en el modo empaquetado (crearEmpaquetado) en un MapaCadenasEmpaquetado, en ambos casos sin índices.
      */
     private Map<String, String> mapaCadenas;
 
@@ -37,7 +40,50 @@ public class SandboxMapas
      */
     public SandboxMapas( )
     {
-        mapaCadenas = new HashMap<String, String>( );
+        this( new MapaCadenasIndexado( new HashMap<String, String>( ) ) );
+    }
+
+    /**
+     * Crea una nueva instancia de la clase cuyas parejas se guardan en el mapa recibido
+     * @param mapa Un mapa vacío
+     */
+    private SandboxMapas( Map<String, String> mapa )
+    {
+        mapaCadenas = mapa;
+    }
+
+    /**
+     * Crea una nueva instancia de la clase que guarda sólo los valores del mapa, en un MapaLlavesDerivadas, y deduce las llaves invirtiéndolos.
+     * 
+     * Como cada llave ocupa tantos caracteres como su valor, este modo usa cerca de la mitad de la memoria. A cambio el mapa no mantiene índices: los métodos que retornan
+     * llaves o valores en orden, getCantidadCadenasDiferentes y las eliminaciones y comparaciones por valor recorren el mapa, y las llaves sólo se construyen cuando se
+     * recorren. Después de volverMayusculas las llaves ya no son los valores invertidos, así que esas parejas se guardan completas.
+     * @return Una nueva instancia vacía
+     */
+    public static SandboxMapas crearCompacto( )
+    {
+        return new SandboxMapas( new MapaLlavesDerivadas( ) );
+    }
+
+    /**
+     * Crea una nueva instancia de la clase que guarda el mapa en un MapaCadenasEmpaquetado: una tabla de hash de direccionamiento abierto cuyas llaves y valores se
+     * guardan seguidos en un solo arreglo de bytes, un byte por carácter cuando las cadenas son Latin-1, en lugar de un nodo y dos objetos String por pareja.
+     * 
+     * Igual que en el modo compacto el mapa no mantiene índices, así que los métodos que retornan cadenas en orden, getCantidadCadenasDiferentes y las eliminaciones y
+     * comparaciones por valor recorren el mapa.
+     * @return Una nueva instancia vacía
+     */
+    public static SandboxMapas crearEmpaquetado( )
+    {
+        return new SandboxMapas( new MapaCadenasEmpaquetado( ) );
+    }
+
+    /**
+     * Retorna el mapa indexado donde se guardan las cadenas, o null si el mapa no mantiene índices
+     */
+    private MapaCadenasIndexado getIndexado( )
+    {
+    	return mapaCadenas instanceof MapaCadenasIndexado ? (MapaCadenasIndexado) mapaCadenas : null;
     }
 
     /**
@@ -46,6 +92,11 @@ public class SandboxMapas
      */
     public List<String> getValoresComoLista( )
     {
+    	MapaCadenasIndexado indexado = getIndexado();
+    	if (indexado != null)
+    	{
+    		return indexado.getValoresOrdenados();
+    	}
     	Collection<String> coleccion = mapaCadenas.values();
     	List<String> lista = new ArrayList<String>();
     	for (String cadena: coleccion)
@@ -63,6 +114,11 @@ public class SandboxMapas
      */
     public List<String> getLlavesComoListaInvertida( )
     {
+    	MapaCadenasIndexado indexado = getIndexado();
+    	if (indexado != null)
+    	{
+    		return new ArrayList<String>(indexado.getLlavesOrdenadas().descendingSet());
+    	}
     	Set<String> conjuntoLlaves = mapaCadenas.keySet();
     	List<String> listaLlaves = new ArrayList<String>();
     	for (String cadena: conjuntoLlaves)
@@ -86,6 +142,11 @@ public class SandboxMapas
     	{
     		return null;
     	}
+    	MapaCadenasIndexado indexado = getIndexado();
+    	if (indexado != null)
+    	{
+    		return indexado.getLlavesOrdenadas().first();
+    	}
     	Set<String> conjuntoLlaves = mapaCadenas.keySet();
     	List<String> listaLlaves = new ArrayList<String>();
     	for (String cadena: conjuntoLlaves)
@@ -109,6 +170,11 @@ public class SandboxMapas
     	{
     		return null;
     	}
+    	MapaCadenasIndexado indexado = getIndexado();
+    	if (indexado != null)
+    	{
+    		return indexado.getLlavesOrdenadas().last();
+    	}
     	Set<String> conjuntoLlaves = mapaCadenas.keySet();
     	List<String> listaLlaves = new ArrayList<String>();
     	for (String cadena: conjuntoLlaves)
@@ -144,6 +210,11 @@ public class SandboxMapas
      */
     public int getCantidadCadenasDiferentes( )
     {
+    	MapaCadenasIndexado indexado = getIndexado();
+    	if (indexado != null)
+    	{
+    		return indexado.getCantidadValoresDiferentes();
+    	}
     	Collection<String> valores = mapaCadenas.values();
     	Set<String> conjuntoValores = new TreeSet<String>();
     	for (String valor: valores)
@@ -162,12 +233,45 @@ public class SandboxMapas
      */
     public void agregarCadena( String cadena )
     {
-    	String cadenaInvertida = new String();
-    	for (int i=0; i<cadena.length(); i++)
+    	if (mapaCadenas instanceof MapaLlavesDerivadas)
+    	{
+    		// En el modo compacto la llave se deduce del valor, así que no hace falta construirla
+    		((MapaLlavesDerivadas) mapaCadenas).agregarValor(cadena);
+    		return;
+    	}
+    	mapaCadenas.put(invertir(cadena), cadena);
+    }
+
+    /**
+     * Agrega varias cadenas al mapa de cadenas, cada una con su cadena invertida como llave, como si se llamara agregarCadena con cada una.
+     * 
+     * Si el mapa está vacío se construye de una vez con la capacidad necesaria para todas las cadenas, en lugar de crecer a medida que se agregan.
+     * @param cadenas Las cadenas que se van a agregar al mapa
+     */
+    public void agregarCadenas( Collection<String> cadenas )
+    {
+    	if (mapaCadenas.isEmpty() && getIndexado() != null)
+    	{
+    		Map<String, String> nuevo = HashMap.newHashMap(cadenas.size());
+    		for (String cadena: cadenas)
+    		{
+    			nuevo.put(invertir(cadena), cadena);
+    		}
+    		mapaCadenas = new MapaCadenasIndexado(nuevo);
+    		return;
+    	}
+    	for (String cadena: cadenas)
     	{
-    		cadenaInvertida = cadena.charAt(i)+cadenaInvertida;
+    		agregarCadena(cadena);
     	}
-    	mapaCadenas.put(cadenaInvertida, cadena);
+    }
+
+    /**
+     * Invierte una cadena en tiempo lineal. Los caracteres que ocupan dos char (pares sustitutos, como los emojis) se conservan en lugar de partirse.
+     */
+    private static String invertir( String cadena )
+    {
+    	return new StringBuilder(cadena).reverse().toString();
     }
 
     /**
@@ -177,6 +281,15 @@ public class SandboxMapas
     public void eliminarCadenaConLLave( String llaveElim )
     {
     	String valor = mapaCadenas.get(llaveElim);
+    	MapaCadenasIndexado indexado = getIndexado();
+    	if (indexado != null)
+    	{
+    		if (valor != null)
+    		{
+    			indexado.eliminarValor(valor);
+    		}
+    		return;
+    	}
     	List<String> llavesAEliminar = new ArrayList<String>();
     	for (String llave: mapaCadenas.keySet())
     	{
@@ -197,6 +310,12 @@ public class SandboxMapas
      */
     public void eliminarCadenaConValor( String valor )
     {
+    	MapaCadenasIndexado indexado = getIndexado();
+    	if (indexado != null)
+    	{
+    		indexado.eliminarValor(valor);
+    		return;
+    	}
     	List<String> llavesAEliminar = new ArrayList<String>();
     	for (String llave: mapaCadenas.keySet())
     	{
@@ -249,7 +368,18 @@ public class SandboxMapas
      */
     public boolean compararValores( String[] otroArreglo )
     {
-    	
+    	if (getIndexado() != null)
+    	{
+    		// El índice inverso responde containsValue sin recorrer el mapa
+    		for (String cadena: otroArreglo)
+    		{
+    			if (!mapaCadenas.containsValue(cadena))
+    			{
+    				return false;
+    			}
+    		}
+    		return true;
+    	}
     	int i=0;
     	while(i<otroArreglo.length)
     	{
@@ -0,0 +1,59 @@
+package uniandes.dpoo.estructuras.logica;
+
+/**
+ * Las reglas que comparten las tablas de hash de direccionamiento abierto con prueba lineal de MapaLlavesDerivadas y MapaCadenasEmpaquetado: en qué casilla empieza la
+ * búsqueda de un hash, cuál es la siguiente casilla que se prueba, cuándo la tabla está demasiado llena y qué capacidad debe tener al crecer.
+ *
+ * Cada mapa recorre su propia tabla, porque las casillas se guardan de forma diferente (un arreglo de String con null y una marca de borrado, o varios arreglos de
+ * enteros con posiciones de la arena). Todas las capacidades son potencias de 2.
+ */
+final class SondeoLineal
+{
+    private SondeoLineal( )
+    {
+    }
+
+    /**
+     * Retorna la casilla donde empieza la búsqueda de un hash. Antes de escoger la casilla se mezclan los bits altos del hash con los bajos, que son los que la escogen.
+     * @param hash El hash de la llave
+     * @param capacidad La cantidad de casillas de la tabla
+     * @return La primera casilla que se debe probar
+     */
+    static int casillaInicial( int hash, int capacidad )
+    {
+        return ( hash ^ ( hash >>> 16 ) ) & ( capacidad - 1 );
+    }
+
+    /**
+     * Retorna la casilla que se prueba después de otra, volviendo al principio al llegar al final de la tabla
+     */
+    static int siguienteCasilla( int casilla, int capacidad )
+    {
+        return ( casilla + 1 ) & ( capacidad - 1 );
+    }
+
+    /**
+     * Indica si ocupar una casilla más dejaría la tabla más de 3/4 llena, contando las casillas borradas, que también alargan las búsquedas
+     * @param ocupadas La cantidad de casillas con parejas o borradas
+     * @param capacidad La cantidad de casillas de la tabla
+     */
+    static boolean debeRedimensionar( int ocupadas, int capacidad )
+    {
+        return ( ocupadas + 1 ) * 4 > capacidad * 3;
+    }
+
+    /**
+     * Retorna la capacidad que debe tener la tabla cuando se vuelve a construir sin las casillas borradas: la actual, o el doble las veces que haga falta para que la
+     * tabla quede a lo sumo a la mitad después de agregar una pareja más
+     * @param cantidad La cantidad de parejas de la tabla
+     * @param capacidad La capacidad actual
+     */
+    static int nuevaCapacidad( int cantidad, int capacidad )
+    {
+        while( ( cantidad + 1 ) * 2 > capacidad )
+        {
+            capacidad *= 2;
+        }
+        return capacidad;
+    }
+}
@@ -0,0 +1,361 @@
+package uniandes.dpoo.estructuras.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uniandes.dpoo.estructuras.logica.ArbolEstadisticoOrden;
+import uniandes.dpoo.estructuras.logica.ArbolPersistente;
+import uniandes.dpoo.estructuras.logica.ArbolRadix;
+import uniandes.dpoo.estructuras.logica.ConjuntoArregloOrdenado;
+import uniandes.dpoo.estructuras.logica.ConjuntoCadenasIndexado;
+import uniandes.dpoo.estructuras.logica.ConjuntoCompacto;
+import uniandes.dpoo.estructuras.logica.ConjuntoCotejado;
+
+/**
+ * Pruebas de las implementaciones propias de NavigableSet: cada una se compara contra un TreeSet haciendo las mismas operaciones sobre los dos.
+ */
+class TestConjuntosNavegables
+{
+    private static final String[] PALABRAS = new String[]{ "", "a", "ab", "abc", "abd", "b", "ba", "bab", "c", "casa", "casas", "cosa", "z", "zz", "A", "B", "Zeta" };
+
+    private Random aleatorio;
+
+    @BeforeEach
+    void setUp( ) throws Exception
+    {
+        aleatorio = new Random( 20231018 );
+    }
+
+    /**
+     * Aplica las mismas operaciones aleatorias sobre el conjunto probado y sobre un TreeSet y verifica que siempre respondan lo mismo
+     */
+    private void compararContraTreeSet( NavigableSet<String> probado )
+    {
+        compararContraTreeSet( probado, new TreeSet<String>( ) );
+    }
+
+    /**
+     * Aplica las mismas operaciones aleatorias sobre el conjunto probado y sobre un TreeSet vacío con el mismo orden
+     */
+    private void compararContraTreeSet( NavigableSet<String> probado, TreeSet<String> esperado )
+    {
+        for( int i = 0; i < 2000; i++ )
+        {
+            String palabra = PALABRAS[ aleatorio.nextInt( PALABRAS.length ) ];
+            switch( aleatorio.nextInt( 6 ) )
+            {
+                case 0:
+                case 1:
+                    assertEquals( esperado.add( palabra ), probado.add( palabra ), "add no es correcto" );
+                    break;
+                case 2:
+                    assertEquals( esperado.remove( palabra ), probado.remove( palabra ), "remove no es correcto" );
+                    break;
+                case 3:
+                    assertEquals( esperado.pollFirst( ), probado.pollFirst( ), "pollFirst no es correcto" );
+                    break;
+                default:
+                    verificarNavegacion( esperado, probado, palabra );
+            }
+            assertEquals( esperado.size( ), probado.size( ), "size no es correcto" );
+        }
+        verificarIguales( esperado, probado );
+    }
+
+    private void verificarNavegacion( NavigableSet<String> esperado, NavigableSet<String> probado, String palabra )
+    {
+        assertEquals( esperado.contains( palabra ), probado.contains( palabra ), "contains no es correcto" );
+        assertEquals( esperado.ceiling( palabra ), probado.ceiling( palabra ), "ceiling no es correcto" );
+        assertEquals( esperado.floor( palabra ), probado.floor( palabra ), "floor no es correcto" );
+        assertEquals( esperado.higher( palabra ), probado.higher( palabra ), "higher no es correcto" );
+        assertEquals( esperado.lower( palabra ), probado.lower( palabra ), "lower no es correcto" );
+        if( !esperado.isEmpty( ) )
+        {
+            assertEquals( esperado.first( ), probado.first( ), "first no es correcto" );
+            assertEquals( esperado.last( ), probado.last( ), "last no es correcto" );
+        }
+        verificarIguales( esperado.tailSet( palabra, true ), probado.tailSet( palabra, true ) );
+        verificarIguales( esperado.headSet( palabra, false ), probado.headSet( palabra, false ) );
+        verificarIguales( esperado.descendingSet( ), probado.descendingSet( ) );
+        verificarIguales( esperado.descendingSet( ).headSet( palabra, true ), probado.descendingSet( ).headSet( palabra, true ) );
+        if( esperado.comparator( ) == null ? palabra.compareTo( "c" ) <= 0 : esperado.comparator( ).compare( palabra, "c" ) <= 0 )
+        {
+            verificarIguales( esperado.subSet( palabra, false, "c", true ), probado.subSet( palabra, false, "c", true ) );
+        }
+    }
+
+    private void verificarIguales( NavigableSet<String> esperado, NavigableSet<String> probado )
+    {
+        assertEquals( new ArrayList<String>( esperado ), new ArrayList<String>( probado ), "El recorrido no es correcto" );
+        List<String> inverso = new ArrayList<String>( );
+        Iterator<String> iterador = probado.descendingIterator( );
+        while( iterador.hasNext( ) )
+        {
+            inverso.add( iterador.next( ) );
+        }
+        assertEquals( new ArrayList<String>( esperado.descendingSet( ) ), inverso, "El recorrido inverso no es correcto" );
+        assertEquals( esperado.size( ), probado.size( ), "El tamaño no es correcto" );
+        assertEquals( esperado.isEmpty( ), probado.isEmpty( ), "isEmpty no es correcto" );
+    }
+
+    /**
+     * Verifica las modificaciones a través de vistas e iteradores
+     */
+    private void verificarModificacionesIndirectas( NavigableSet<String> probado )
+    {
+        for( String palabra : PALABRAS )
+        {
+            probado.add( palabra );
+        }
+        TreeSet<String> esperado = new TreeSet<String>( probado );
+
+        Iterator<String> iterador = probado.iterator( );
+        while( iterador.hasNext( ) )
+        {
+            if( iterador.next( ).startsWith( "a" ) )
+            {
+                iterador.remove( );
+            }
+        }
+        esperado.removeIf( palabra -> palabra.startsWith( "a" ) );
+        verificarIguales( esperado, probado );
+
+        probado.subSet( "b", true, "c", false ).clear( );
+        esperado.subSet( "b", true, "c", false ).clear( );
+        verificarIguales( esperado, probado );
+
+        assertThrows( IllegalArgumentException.class, ( ) -> probado.headSet( "c", false ).add( "d" ), "No se debería poder agregar fuera del rango" );
+        assertTrue( probado.tailSet( "d", true ).add( "dd" ), "No se agregó a través de la vista" );
+        assertTrue( probado.contains( "dd" ), "No se agregó a través de la vista" );
+        assertEquals( "zz", probado.descendingSet( ).pollFirst( ), "pollFirst de la vista inversa no es correcto" );
+        assertFalse( probado.contains( "zz" ), "No se eliminó a través de la vista inversa" );
+
+        assertThrows( ConcurrentModificationException.class, ( ) -> {
+            for( String palabra : probado )
+            {
+                probado.add( palabra + "x" );
+            }
+        }, "No se detectó la modificación concurrente" );
+    }
+
+    @Test
+    void testConjuntoCadenasIndexado( )
+    {
+        compararContraTreeSet( new ConjuntoCadenasIndexado( new TreeSet<String>( ) ) );
+        verificarModificacionesIndirectas( new ConjuntoCadenasIndexado( new TreeSet<String>( ) ) );
+    }
+
+    @Test
+    void testArbolRadix( )
+    {
+        compararContraTreeSet( new ArbolRadix( ) );
+        verificarModificacionesIndirectas( new ArbolRadix( ) );
+        compararContraTreeSet( new ConjuntoCadenasIndexado( new ArbolRadix( ) ) );
+    }
+
+    @Test
+    void testArbolRadixPrefijos( )
+    {
+        ArbolRadix arbol = new ArbolRadix( );
+        TreeSet<String> esperado = new TreeSet<String>( );
+        for( int i = 0; i < 500; i++ )
+        {
+            String palabra = PALABRAS[ aleatorio.nextInt( PALABRAS.length ) ] + PALABRAS[ aleatorio.nextInt( PALABRAS.length ) ];
+            arbol.add( palabra );
+            esperado.add( palabra );
+        }
+        for( String prefijo : PALABRAS )
+        {
+            List<String> conPrefijo = new ArrayList<String>( );
+            for( String palabra : esperado.tailSet( prefijo, true ) )
+            {
+                if( !palabra.startsWith( prefijo ) )
+                {
+                    break;
+                }
+                conPrefijo.add( palabra );
+            }
+            assertEquals( conPrefijo, arbol.buscarPorPrefijo( prefijo, Integer.MAX_VALUE ), "buscarPorPrefijo no es correcto" );
+            assertEquals( conPrefijo.subList( 0, Math.min( 2, conPrefijo.size( ) ) ), arbol.buscarPorPrefijo( prefijo, 2 ), "No se respetó el límite" );
+        }
+        verificarIguales( esperado, arbol );
+    }
+
+    @Test
+    void testConjuntoArregloOrdenado( )
+    {
+        TreeSet<String> esperado = new TreeSet<String>( );
+        String[] cadenas = new String[300];
+        for( int i = 0; i < cadenas.length; i++ )
+        {
+            cadenas[ i ] = PALABRAS[ aleatorio.nextInt( PALABRAS.length ) ] + PALABRAS[ aleatorio.nextInt( PALABRAS.length ) ];
+            esperado.add( cadenas[ i ] );
+        }
+        ConjuntoArregloOrdenado probado = ConjuntoArregloOrdenado.construir( cadenas );
+        verificarIguales( esperado, probado );
+        for( String palabra : PALABRAS )
+        {
+            verificarNavegacion( esperado, probado, palabra );
+        }
+        assertThrows( UnsupportedOperationException.class, ( ) -> probado.add( "x" ), "El conjunto no se debería poder modificar" );
+
+        TreeSet<String> cargado = new TreeSet<String>( );
+        cargado.addAll( probado );
+        verificarIguales( esperado, cargado );
+
+        ConjuntoCadenasIndexado indexado = new ConjuntoCadenasIndexado( new TreeSet<String>( ) );
+        assertTrue( indexado.addAll( ConjuntoArregloOrdenado.construir( new String[]{ "a", "a", "b" } ) ), "No se agregaron las cadenas" );
+        assertEquals( 1, indexado.getVersion( ), "La carga debería ser una sola modificación" );
+        assertFalse( indexado.addAll( ConjuntoArregloOrdenado.construir( new String[]{ "a" } ) ), "No debería cambiar el conjunto" );
+        assertEquals( 2, indexado.size( ), "El tamaño no es correcto" );
+    }
+
+    @Test
+    void testConjuntoCompacto( )
+    {
+        TreeSet<String> esperado = new TreeSet<String>( );
+        for( int i = 0; i < 300; i++ )
+        {
+            esperado.add( PALABRAS[ aleatorio.nextInt( PALABRAS.length ) ] + PALABRAS[ aleatorio.nextInt( PALABRAS.length ) ] + "/" + aleatorio.nextInt( 200 ) );
+        }
+        ConjuntoCompacto probado = new ConjuntoCompacto( esperado );
+        verificarIguales( esperado, probado );
+        for( String palabra : PALABRAS )
+        {
+            verificarNavegacion( esperado, probado, palabra );
+            verificarNavegacion( esperado, probado, palabra + "/1" );
+            assertEquals( esperado.headSet( palabra ).size( ), probado.getPosicion( palabra ), "getPosicion no es correcto" );
+        }
+        int posicion = 0;
+        for( String cadena : esperado )
+        {
+            assertEquals( cadena, probado.getCadena( posicion ), "getCadena no es correcto" );
+            assertEquals( posicion, probado.getPosicion( cadena ), "getPosicion no es correcto" );
+            verificarNavegacion( esperado, probado, cadena );
+            posicion++;
+        }
+        assertThrows( UnsupportedOperationException.class, ( ) -> probado.add( "x" ), "El conjunto no se debería poder modificar" );
+
+        String larga = "x".repeat( 300 );
+        TreeSet<String> conLargas = new TreeSet<String>( List.of( larga, larga + "ñ", larga + "ñandú", "y" ) );
+        ConjuntoCompacto largas = new ConjuntoCompacto( conLargas );
+        assertTrue( largas.contains( larga + "ñandú" ), "No se decodificó una cadena con un prefijo largo" );
+        verificarIguales( conLargas, largas );
+        verificarIguales( new TreeSet<String>( ), new ConjuntoCompacto( new ArrayList<String>( ) ) );
+    }
+
+    @Test
+    void testArbolEstadisticoOrden( )
+    {
+        compararContraTreeSet( new ArbolEstadisticoOrden( ) );
+        verificarModificacionesIndirectas( new ArbolEstadisticoOrden( ) );
+
+        ArbolEstadisticoOrden arbol = new ArbolEstadisticoOrden( );
+        TreeSet<String> esperado = new TreeSet<String>( );
+        for( int i = 0; i < 3000; i++ )
+        {
+            String cadena = "c" + aleatorio.nextInt( 1000 );
+            if( aleatorio.nextInt( 3 ) == 0 )
+            {
+                assertEquals( esperado.remove( cadena ), arbol.remove( cadena ), "remove no es correcto" );
+            }
+            else
+            {
+                assertEquals( esperado.add( cadena ), arbol.add( cadena ), "add no es correcto" );
+            }
+        }
+        int posicion = 0;
+        for( String cadena : esperado )
+        {
+            assertEquals( cadena, arbol.getCadena( posicion ), "getCadena no es correcto" );
+            assertEquals( posicion, arbol.getPosicion( cadena ), "getPosicion no es correcto" );
+            assertEquals( esperado.headSet( cadena + "0" ).size( ), arbol.getPosicion( cadena + "0" ), "getPosicion no es correcto para una cadena que no está" );
+            posicion++;
+        }
+        assertThrows( IndexOutOfBoundsException.class, ( ) -> arbol.getCadena( esperado.size( ) ), "La posición no existe" );
+    }
+
+    @Test
+    void testArbolPersistente( )
+    {
+        compararContraTreeSet( new ArbolPersistente( ) );
+        verificarModificacionesIndirectas( new ArbolPersistente( ) );
+
+        ArbolPersistente arbol = new ArbolPersistente( );
+        TreeSet<String> esperado = new TreeSet<String>( );
+        List<ArbolPersistente> versiones = new ArrayList<ArbolPersistente>( );
+        List<TreeSet<String>> esperadas = new ArrayList<TreeSet<String>>( );
+        for( int i = 0; i < 2000; i++ )
+        {
+            String cadena = "c" + aleatorio.nextInt( 300 );
+            if( aleatorio.nextInt( 3 ) == 0 )
+            {
+                assertEquals( esperado.remove( cadena ), arbol.remove( cadena ), "remove no es correcto" );
+            }
+            else
+            {
+                assertEquals( esperado.add( cadena ), arbol.add( cadena ), "add no es correcto" );
+            }
+            if( i % 200 == 0 )
+            {
+                versiones.add( arbol.copiar( ) );
+                esperadas.add( new TreeSet<String>( esperado ) );
+            }
+        }
+        for( int i = 0; i < versiones.size( ); i++ )
+        {
+            verificarIguales( esperadas.get( i ), versiones.get( i ) );
+        }
+        int posicion = 0;
+        for( String cadena : esperado )
+        {
+            assertEquals( cadena, arbol.getCadena( posicion ), "getCadena no es correcto" );
+            assertEquals( posicion, arbol.getPosicion( cadena ), "getPosicion no es correcto" );
+            posicion++;
+        }
+
+        Iterator<String> iterador = arbol.iterator( );
+        ArbolPersistente copia = arbol.copiar( );
+        copia.clear( );
+        assertTrue( iterador.hasNext( ), "El iterador no debería verse afectado por cambios en una copia" );
+        verificarIguales( esperado, arbol );
+    }
+
+    @Test
+    void testConjuntoCotejado( )
+    {
+        Collator cotejador = Collator.getInstance( Locale.forLanguageTag( "es" ) );
+        compararContraTreeSet( new ConjuntoCotejado( cotejador ), new TreeSet<String>( cotejador ) );
+        verificarModificacionesIndirectas( new ConjuntoCotejado( cotejador ) );
+        compararContraTreeSet( new ConjuntoCadenasIndexado( new ConjuntoCotejado( cotejador ) ), new TreeSet<String>( cotejador ) );
+
+        cotejador.setStrength( Collator.PRIMARY );
+        ConjuntoCotejado sinAcentos = new ConjuntoCotejado( cotejador );
+        assertTrue( sinAcentos.add( "árbol" ), "No se agregó la cadena" );
+        assertFalse( sinAcentos.add( "Arbol" ), "Con fuerza primaria las dos cadenas son iguales" );
+        assertTrue( sinAcentos.contains( "ARBOL" ), "Con fuerza primaria las dos cadenas son iguales" );
+        assertEquals( "árbol", sinAcentos.first( ), "Se debería conservar la cadena que se agregó primero" );
+        assertEquals( new ConjuntoCotejado( cotejador ).comparator( ), sinAcentos.comparator( ), "Los comparadores de conjuntos con el mismo Collator deberían ser iguales" );
+        assertEquals( 0, sinAcentos.comparator( ).compare( "ARBOL", "arbol" ), "El comparador no sigue el orden del Collator" );
+        assertTrue( sinAcentos.comparator( ).compare( "arco", "barco" ) < 0, "El comparador no sigue el orden del Collator" );
+        assertTrue( sinAcentos.remove( "ARBOL" ), "Con fuerza primaria se debería eliminar la cadena guardada" );
+        assertTrue( sinAcentos.isEmpty( ), "El conjunto debería quedar vacío" );
+        assertTrue( sinAcentos.add( "Arbol" ), "Después de eliminar la cadena se debería poder agregar otra igual" );
+        assertEquals( "Arbol", sinAcentos.first( ), "No se guardó la nueva cadena" );
+    }
+}
@@ -0,0 +1,258 @@
+package uniandes.dpoo.estructuras.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uniandes.dpoo.estructuras.logica.MapaCadenasEmpaquetado;
+import uniandes.dpoo.estructuras.logica.MapaCadenasIndexado;
+import uniandes.dpoo.estructuras.logica.MapaLlavesDerivadas;
+
+/**
+ * Pruebas de las implementaciones propias de Map: cada una se compara contra un HashMap haciendo las mismas operaciones sobre los dos.
+ */
+class TestMapasCadenas
+{
+    private static final String[] PALABRAS = new String[]{ "", "a", "ab", "ba", "abc", "cba", "casa", "asac", "cosa", "A", "AB", "BA", "Zeta", "ñandú", "😀x" };
+
+    private Random aleatorio;
+
+    @BeforeEach
+    void setUp( ) throws Exception
+    {
+        aleatorio = new Random( 20231018 );
+    }
+
+    /**
+     * Aplica las mismas operaciones aleatorias sobre el mapa probado y sobre un HashMap y verifica que siempre respondan lo mismo
+     */
+    private void compararContraHashMap( Map<String, String> probado, boolean cambiaValores )
+    {
+        Map<String, String> esperado = new HashMap<String, String>( );
+        for( int i = 0; i < 2000; i++ )
+        {
+            String llave = PALABRAS[ aleatorio.nextInt( PALABRAS.length ) ];
+            String valor = PALABRAS[ aleatorio.nextInt( PALABRAS.length ) ];
+            switch( aleatorio.nextInt( 8 ) )
+            {
+                case 0:
+                case 1:
+                    assertEquals( esperado.put( llave, valor ), probado.put( llave, valor ), "put no es correcto" );
+                    break;
+                case 2:
+                    llave = new StringBuilder( valor ).reverse( ).toString( );
+                    assertEquals( esperado.put( llave, valor ), probado.put( llave, valor ), "put no es correcto" );
+                    break;
+                case 3:
+                    assertEquals( esperado.remove( llave ), probado.remove( llave ), "remove no es correcto" );
+                    break;
+                case 4:
+                    assertEquals( esperado.values( ).removeAll( Set.of( valor ) ), probado.values( ).removeAll( Set.of( valor ) ), "values().removeAll no es correcto" );
+                    break;
+                case 5:
+                    modificarConIterador( esperado, valor, cambiaValores );
+                    modificarConIterador( probado, valor, cambiaValores );
+                    break;
+                default:
+                    assertEquals( esperado.get( llave ), probado.get( llave ), "get no es correcto" );
+                    assertEquals( esperado.containsKey( llave ), probado.containsKey( llave ), "containsKey no es correcto" );
+                    assertEquals( esperado.containsValue( valor ), probado.containsValue( valor ), "containsValue no es correcto" );
+            }
+            assertEquals( esperado.size( ), probado.size( ), "size no es correcto" );
+            if( aleatorio.nextInt( 500 ) == 0 )
+            {
+                esperado.clear( );
+                probado.keySet( ).clear( );
+            }
+        }
+        assertEquals( esperado, probado, "El contenido no es correcto" );
+        assertEquals( esperado.hashCode( ), probado.hashCode( ), "hashCode no es correcto" );
+    }
+
+    /**
+     * Recorre el mapa eliminando las parejas cuyo valor es el dado y, si se indica, cambiando el valor de las demás que empiezan por "a"
+     */
+    private void modificarConIterador( Map<String, String> mapa, String valor, boolean cambiaValores )
+    {
+        Iterator<Map.Entry<String, String>> iterador = mapa.entrySet( ).iterator( );
+        while( iterador.hasNext( ) )
+        {
+            Map.Entry<String, String> entrada = iterador.next( );
+            if( entrada.getValue( ).equals( valor ) )
+            {
+                iterador.remove( );
+            }
+            else if( cambiaValores && entrada.getKey( ).startsWith( "a" ) )
+            {
+                entrada.setValue( entrada.getValue( ) + "!" );
+            }
+        }
+    }
+
+    private void verificarIndices( MapaCadenasIndexado probado )
+    {
+        assertEquals( new ArrayList<String>( new TreeSet<String>( probado.keySet( ) ) ), new ArrayList<String>( probado.getLlavesOrdenadas( ) ),
+                "Las llaves ordenadas no son correctas" );
+        List<String> valores = new ArrayList<String>( probado.values( ) );
+        valores.sort( null );
+        assertEquals( valores, probado.getValoresOrdenados( ), "Los valores ordenados no son correctos" );
+        assertEquals( new HashSet<String>( valores ).size( ), probado.getCantidadValoresDiferentes( ), "La cantidad de valores diferentes no es correcta" );
+        for( String valor : PALABRAS )
+        {
+            Set<String> llaves = new HashSet<String>( );
+            for( Map.Entry<String, String> entrada : probado.entrySet( ) )
+            {
+                if( entrada.getValue( ).equals( valor ) )
+                {
+                    llaves.add( entrada.getKey( ) );
+                }
+            }
+            assertEquals( llaves, probado.getLlavesConValor( valor ), "El índice inverso no es correcto" );
+        }
+    }
+
+    @Test
+    void testMapaCadenasIndexado( )
+    {
+        MapaCadenasIndexado probado = new MapaCadenasIndexado( new HashMap<String, String>( ) );
+        compararContraHashMap( probado, true );
+        verificarIndices( probado );
+
+        Map<String, String> inicial = new HashMap<String, String>( );
+        inicial.put( "ab", "ba" );
+        inicial.put( "ba", "ba" );
+        MapaCadenasIndexado conContenido = new MapaCadenasIndexado( inicial );
+        assertEquals( List.of( "ba", "ba" ), conContenido.getValoresOrdenados( ), "No se indexó el contenido inicial" );
+        conContenido.remove( "ab" );
+        verificarIndices( conContenido );
+        assertThrows( UnsupportedOperationException.class, ( ) -> conContenido.getLlavesOrdenadas( ).add( "x" ), "Las llaves ordenadas no se deberían poder modificar" );
+
+        conContenido.put( "x", "ba" );
+        conContenido.put( "y", "z" );
+        assertEquals( Set.of( "ba", "x" ), conContenido.getLlavesConValor( "ba" ), "Las llaves con el valor no son correctas" );
+        assertEquals( 2, conContenido.eliminarValor( "ba" ), "No se eliminaron todas las parejas con el valor" );
+        assertEquals( 0, conContenido.eliminarValor( "ba" ), "No debería quedar ninguna pareja con el valor" );
+        assertEquals( Map.of( "y", "z" ), conContenido, "Se eliminaron parejas que no tenían el valor" );
+        verificarIndices( conContenido );
+
+        Map.Entry<String, String> entrada = conContenido.entrySet( ).iterator( ).next( );
+        assertEquals( Map.entry( "y", "z" ), entrada, "La pareja no es igual a otra con la misma llave y el mismo valor" );
+        assertEquals( Map.entry( "y", "z" ).hashCode( ), entrada.hashCode( ), "hashCode de la pareja no es correcto" );
+        assertEquals( "z", entrada.setValue( "w" ), "setValue debería retornar el valor anterior" );
+        assertEquals( "w", entrada.getValue( ), "La pareja no refleja el nuevo valor" );
+        assertEquals( "y=w", entrada.toString( ), "toString de la pareja no es correcto" );
+        assertEquals( Set.of( "y" ), conContenido.getLlavesConValor( "w" ), "setValue no actualizó los índices" );
+
+        // Un valor pasa de una llave a varias y vuelve a una
+        conContenido.put( "a", "w" );
+        conContenido.put( "b", "w" );
+        assertEquals( Set.of( "a", "b", "y" ), conContenido.getLlavesConValor( "w" ), "Las llaves con el valor no son correctas" );
+        conContenido.remove( "y" );
+        conContenido.remove( "a" );
+        assertEquals( Set.of( "b" ), conContenido.getLlavesConValor( "w" ), "Las llaves con el valor no son correctas" );
+        assertEquals( List.of( "w" ), conContenido.getValoresOrdenados( ), "Los valores ordenados no son correctos" );
+        conContenido.put( "b", "v" );
+        assertFalse( conContenido.containsValue( "w" ), "El valor ya no debería estar" );
+        verificarIndices( conContenido );
+    }
+
+    @Test
+    void testMapaLlavesDerivadas( )
+    {
+        compararContraHashMap( new MapaLlavesDerivadas( ), false );
+
+        MapaLlavesDerivadas probado = new MapaLlavesDerivadas( );
+        String[] valores = new String[]{ "a😀", "\uDC00\uD800", "\uD800\uD800\uDC00", "casa", "" };
+        for( String valor : valores )
+        {
+            String llave = new StringBuilder( valor ).reverse( ).toString( );
+            assertEquals( null, probado.put( llave, valor ), "put no es correcto" );
+            assertEquals( valor, probado.get( llave ), "La llave deducida no es correcta" );
+        }
+        for( int i = 0; i < 1000; i++ )
+        {
+            probado.put( "n" + i, "" + i + "n" );
+        }
+        assertEquals( valores.length + 1000, probado.size( ), "size no es correcto" );
+        assertEquals( "casa", probado.put( "asac", "ac" ), "Reemplazar una pareja deducida por una excepción no es correcto" );
+        assertFalse( probado.containsValue( "casa" ), "El valor reemplazado no debería estar" );
+        assertEquals( "asac", probado.keySet( ).stream( ).filter( llave -> llave.startsWith( "as" ) ).findFirst( ).get( ), "La excepción no se recorrió" );
+
+        Iterator<String> llaves = probado.keySet( ).iterator( );
+        llaves.next( );
+        probado.remove( "n0" );
+        assertThrows( ConcurrentModificationException.class, ( ) -> llaves.next( ), "El iterador debería detectar la modificación" );
+        assertThrows( UnsupportedOperationException.class, ( ) -> probado.entrySet( ).iterator( ).next( ).setValue( "x" ), "Las parejas son de sólo lectura" );
+    }
+
+    @Test
+    void testAgregarValor( )
+    {
+        // agregarValor debe ser igual a put con el valor invertido como llave, también cuando la llave está entre las excepciones
+        MapaLlavesDerivadas probado = new MapaLlavesDerivadas( );
+        Map<String, String> esperado = new HashMap<String, String>( );
+        String[] valores = new String[]{ "casa", "asac", "a😀", "\uDC00\uD800", "\uD800\uDC00", "" };
+        for( int i = 0; i < 1000; i++ )
+        {
+            String valor = valores[ aleatorio.nextInt( valores.length ) ];
+            String llave = new StringBuilder( valor ).reverse( ).toString( );
+            if( aleatorio.nextInt( 4 ) == 0 )
+            {
+                assertEquals( esperado.put( llave, "otro" ), probado.put( llave, "otro" ), "put no es correcto" );
+            }
+            else
+            {
+                assertEquals( esperado.put( llave, valor ), probado.agregarValor( valor ), "agregarValor no es correcto" );
+            }
+            assertEquals( esperado.size( ), probado.size( ), "size no es correcto" );
+        }
+        assertEquals( esperado, probado, "El contenido no es correcto" );
+    }
+
+    @Test
+    void testMapaCadenasEmpaquetado( )
+    {
+        compararContraHashMap( new MapaCadenasEmpaquetado( ), false );
+
+        MapaCadenasEmpaquetado probado = new MapaCadenasEmpaquetado( );
+        Map<String, String> esperado = new HashMap<String, String>( );
+        StringBuilder larga = new StringBuilder( );
+        for( int i = 0; i < 300; i++ )
+        {
+            larga.append( i % 2 == 0 ? "ñ" : "ω" );
+        }
+        for( int i = 0; i < 3000; i++ )
+        {
+            // Llaves y valores Latin-1, con otros alfabetos y largas (con encabezados de varios bytes), que se reemplazan y se eliminan varias veces
+            String llave = ( i % 3 == 0 ? "ключ" : "llave" ) + ( i % 700 );
+            String valor = i % 50 == 0 ? larga.toString( ) + i : "v😀" + i;
+            assertEquals( esperado.put( llave, valor ), probado.put( llave, valor ), "put no es correcto" );
+            if( i % 7 == 0 )
+            {
+                String eliminada = "llave" + ( i % 350 );
+                assertEquals( esperado.remove( eliminada ), probado.remove( eliminada ), "remove no es correcto" );
+            }
+        }
+        assertEquals( esperado, probado, "El contenido no es correcto" );
+        assertEquals( esperado.containsValue( "v😀2999" ), probado.containsValue( "v😀2999" ), "containsValue no es correcto" );
+        assertThrows( NullPointerException.class, ( ) -> probado.put( null, "x" ), "No se deberían aceptar llaves null" );
+        probado.clear( );
+        assertEquals( 0, probado.size( ), "El mapa debería quedar vacío" );
+        assertEquals( null, probado.put( "a", "b" ), "put después de clear no es correcto" );
+        assertEquals( Map.of( "a", "b" ), probado, "El contenido después de clear no es correcto" );
+    }
+}
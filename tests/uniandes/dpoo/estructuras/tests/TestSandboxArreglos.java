@@ -3,12 +3,15 @@ package uniandes.dpoo.estructuras.tests;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.text.Collator;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Locale;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -59,6 +62,15 @@ class TestSandboxArreglos
         vacio = null;
     }
 
+    @Test
+    void testGetComoStream( )
+    {
+        assertEquals( Arrays.stream( enterosSencillos ).sum( ), sencillo.getEnterosComoStream( ).parallel( ).sum( ), "El stream no tiene los enteros esperados" );
+        assertEquals( cadenasSencillas.length, sencillo.getCadenasComoStream( ).count( ), "El stream no tiene las cadenas esperadas" );
+        assertEquals( 0, vacio.getEnterosComoStream( ).count( ), "El stream del arreglo vacío no debería tener elementos" );
+        assertEquals( 0, vacio.getCadenasComoStream( ).count( ), "El stream del arreglo vacío no debería tener elementos" );
+    }
+
     @Test
     void testGetCantidadEnteros( )
     {
@@ -423,6 +435,38 @@ class TestSandboxArreglos
         }
     }
 
+    @Test
+    void testReiniciarArregloCadenasEnParalelo( )
+    {
+        Object[] nuevosValores = new Object[]{ Double.valueOf( "0.01" ), Character.valueOf( 'a' ), "Hello", Integer.valueOf( "25" ), Boolean.FALSE };
+
+        sencillo.reiniciarArregloCadenasEnParalelo( nuevosValores );
+        assertEquals( nuevosValores.length, sencillo.getCantidadCadenas( ), "La nueva cantidad de cadenas no es la correcta" );
+        String[] copia = sencillo.getCopiaCadenas( );
+        for( int i = 0; i < nuevosValores.length; i++ )
+        {
+            assertEquals( nuevosValores[ i ].toString( ), copia[ i ], "No se ajustaron correctamente las cadenas existentes" );
+        }
+
+        Object[] muchosValores = new Object[20000];
+        for( int i = 0; i < muchosValores.length; i++ )
+        {
+            muchosValores[ i ] = Double.valueOf( i / 4.0 );
+        }
+        sencillo.reiniciarArregloCadenasEnParalelo( muchosValores );
+        copia = sencillo.getCopiaCadenas( );
+        assertEquals( muchosValores.length, copia.length, "La nueva cantidad de cadenas no es la correcta" );
+        for( int i = 0; i < muchosValores.length; i++ )
+        {
+            assertEquals( muchosValores[ i ].toString( ), copia[ i ], "No se ajustaron correctamente las cadenas en paralelo" );
+        }
+
+        // Si una conversión falla, el arreglo anterior se conserva completo
+        muchosValores[ 15000 ] = null;
+        assertThrows( NullPointerException.class, ( ) -> sencillo.reiniciarArregloCadenasEnParalelo( muchosValores ), "La conversión de null debería fallar" );
+        assertEquals( Arrays.asList( copia ), Arrays.asList( sencillo.getCopiaCadenas( ) ), "Si una conversión falla el arreglo no debería cambiar" );
+    }
+
     @Test
     void testVolverPositivos( )
     {
@@ -522,6 +566,24 @@ class TestSandboxArreglos
         }
     }
 
+    @Test
+    void testOrganizarCadenasCotejado( )
+    {
+        Collator cotejador = Collator.getInstance( Locale.forLanguageTag( "es" ) );
+        sencillo.agregarCadena( "árbol" );
+        sencillo.agregarCadena( "Árbol" );
+        sencillo.agregarCadena( "arco" );
+        sencillo.organizarCadenas( cotejador );
+
+        String[] copia = sencillo.getCopiaCadenas( );
+
+        for( int i = 1; i < copia.length; i++ )
+        {
+            assertTrue( cotejador.compare( copia[ i - 1 ], copia[ i ] ) <= 0, "No se organizaron correctamente las cadenas" );
+        }
+        assertTrue( Arrays.asList( copia ).indexOf( "arco" ) > Arrays.asList( copia ).indexOf( "árbol" ), "No se usó el orden del idioma" );
+    }
+
     @Test
     void testOrganizarCadenasVacio( )
     {
@@ -3,18 +3,29 @@ package uniandes.dpoo.estructuras.tests;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.text.Collator;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
 import java.util.TreeSet;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import uniandes.dpoo.estructuras.logica.InstantaneaCadenas;
+import uniandes.dpoo.estructuras.logica.PaginaCadenas;
 import uniandes.dpoo.estructuras.logica.SandboxConjuntos;
 
 class TestSandboxConjuntos
@@ -102,6 +113,28 @@ class TestSandboxConjuntos
         assertFalse( copia.get( 0 ).equals( copia2.get( 0 ) ), "Dos llamados al método retornaron la misma lista" );
     }
 
+    @Test
+    void testGetInstantanea( )
+    {
+        InstantaneaCadenas instantanea = sencillo.getInstantanea( );
+        assertEquals( Arrays.asList( cadenasOrdenadas ), instantanea, "La instantánea no tiene las cadenas esperadas" );
+        for( int i = 0; i < cadenasOrdenadas.length; i++ )
+        {
+            assertEquals( cadenasOrdenadas[ cadenasOrdenadas.length - 1 - i ], instantanea.getInvertida( i ), "La instantánea invertida no es correcta" );
+        }
+        assertSame( instantanea, sencillo.getInstantanea( ), "Sin modificaciones se debería compartir la misma instantánea" );
+
+        sencillo.agregarCadena( "a" );
+        assertSame( instantanea, sencillo.getInstantanea( ), "Agregar una cadena repetida no modifica el conjunto" );
+
+        sencillo.agregarCadena( "f" );
+        InstantaneaCadenas nueva = sencillo.getInstantanea( );
+        assertNotSame( instantanea, nueva, "Después de modificar el conjunto se debería construir otra instantánea" );
+        assertEquals( cadenasOrdenadas.length, instantanea.size( ), "La instantánea anterior no debería cambiar" );
+        assertEquals( "f", nueva.getInvertida( 0 ), "La nueva instantánea no tiene las cadenas esperadas" );
+        assertEquals( "f", nueva.invertida( ).get( 0 ), "La vista invertida no tiene las cadenas esperadas" );
+    }
+
     @Test
     void testGetPrimera( )
     {
@@ -152,6 +185,43 @@ class TestSandboxConjuntos
         assertEquals( 0, siguientes.size( ), "La cantidad de elementos retornada no es correcta" );
     }
 
+    @Test
+    void testGetRango( )
+    {
+        assertEquals( Arrays.asList( "a", "c", "d" ), new ArrayList<String>( sencillo.getRango( "a", true, "d", true ) ), "El rango no es correcto" );
+        assertEquals( Arrays.asList( "c" ), new ArrayList<String>( sencillo.getRango( "a", false, "d", false ) ), "El rango no es correcto" );
+        assertEquals( Arrays.asList( "B", "a" ), new ArrayList<String>( sencillo.getRango( null, true, "b", true ) ), "El rango sin límite inferior no es correcto" );
+        assertEquals( Arrays.asList( "d", "e" ), new ArrayList<String>( sencillo.getRango( "cc", true, null, true ) ), "El rango sin límite superior no es correcto" );
+        assertEquals( 0, sencillo.getRango( "z", true, "a", true ).size( ), "El rango con los límites invertidos debería estar vacío" );
+
+        Collection<String> rango = sencillo.getRango( "c", true, null, true );
+        sencillo.agregarCadena( "f" );
+        assertTrue( rango.contains( "f" ), "El rango no refleja los cambios del conjunto" );
+    }
+
+    @Test
+    void testGetPaginas( )
+    {
+        PaginaCadenas pagina = sencillo.getPagina( null, true, null, true, 2 );
+        assertEquals( Arrays.asList( "B", "a" ), pagina.getCadenas( ), "La primera página no es correcta" );
+        assertTrue( pagina.hayMas( ), "Deberían quedar más páginas" );
+
+        sencillo.eliminarCadena( "a" );
+        pagina = sencillo.getPaginaSiguiente( pagina );
+        assertEquals( Arrays.asList( "c", "d" ), pagina.getCadenas( ), "La segunda página no es correcta" );
+        assertTrue( pagina.hayMas( ), "Deberían quedar más páginas" );
+
+        pagina = sencillo.getPaginaSiguiente( pagina );
+        assertEquals( Arrays.asList( "e" ), pagina.getCadenas( ), "La última página no es correcta" );
+        assertFalse( pagina.hayMas( ), "No deberían quedar más páginas" );
+
+        pagina = sencillo.getPagina( "a", false, "d", true, 10 );
+        assertEquals( Arrays.asList( "c", "d" ), pagina.getCadenas( ), "La página con límites no es correcta" );
+        assertFalse( pagina.hayMas( ), "No deberían quedar más páginas" );
+        assertEquals( 0, vacio.getPagina( null, true, null, true, 5 ).getCadenas( ).size( ), "La página del conjunto vacío no debería tener cadenas" );
+        assertThrows( IllegalArgumentException.class, ( ) -> sencillo.getPagina( null, true, null, true, 0 ), "El límite de la página debe ser positivo" );
+    }
+
     @Test
     void testAgregarCadenaVacio( )
     {
@@ -274,6 +344,47 @@ class TestSandboxConjuntos
         assertEquals( 0, vacio.getCantidadCadenas( ), "La cantidad de cadenas debería seguir siendo la misma" );
     }
 
+    @Test
+    void testIndiceSinMayusculas( )
+    {
+        sencillo.activarIndiceSinMayusculas( );
+        assertTrue( sencillo.contieneSinMayusculasOMinusculas( "b" ), "No encontró la cadena sin tener en cuenta mayúsculas" );
+        assertTrue( sencillo.contieneSinMayusculasOMinusculas( "A" ), "No encontró la cadena sin tener en cuenta mayúsculas" );
+        assertFalse( sencillo.contieneSinMayusculasOMinusculas( "f" ), "Encontró una cadena que no está en el conjunto" );
+
+        sencillo.eliminarCadenaSinMayusculasOMinusculas( "b" );
+        assertEquals( cadenasSinRepetidos.length - 1, sencillo.getCantidadCadenas( ), "La cantidad de cadenas debería haber disminuido en 1" );
+        assertFalse( sencillo.contieneSinMayusculasOMinusculas( "B" ), "El índice no se actualizó al eliminar" );
+
+        sencillo.agregarCadena( "Casa" );
+        sencillo.agregarCadena( "CASA" );
+        sencillo.eliminarCadenaSinMayusculasOMinusculas( "casa" );
+        assertTrue( sencillo.getCadenasComoLista( ).contains( "Casa" ), "Sólo se debería eliminar una de las cadenas que coinciden" );
+        assertFalse( sencillo.getCadenasComoLista( ).contains( "CASA" ), "Se debería eliminar la menor de las cadenas que coinciden" );
+
+        sencillo.eliminarPrimera( );
+        assertFalse( sencillo.contieneSinMayusculasOMinusculas( "casa" ), "El índice no se actualizó al eliminar la primera cadena" );
+
+        sencillo.volverMayusculas( );
+        assertTrue( sencillo.contieneSinMayusculasOMinusculas( "e" ), "El índice no se actualizó al volver mayúsculas" );
+        sencillo.eliminarCadenaSinMayusculasOMinusculas( "e" );
+        assertFalse( sencillo.getCadenasComoLista( ).contains( "E" ), "No se eliminó la cadena después de volver mayúsculas" );
+
+        List<Object> objetos = new ArrayList<Object>( );
+        objetos.add( "Hola" );
+        sencillo.reiniciarConjuntoCadenas( objetos );
+        assertTrue( sencillo.contieneSinMayusculasOMinusculas( "HOLA" ), "El índice no se actualizó al reiniciar el conjunto" );
+        assertFalse( sencillo.contieneSinMayusculasOMinusculas( "a" ), "El índice no se actualizó al reiniciar el conjunto" );
+    }
+
+    @Test
+    void testContieneSinMayusculasOMinusculasSinIndice( )
+    {
+        assertTrue( sencillo.contieneSinMayusculasOMinusculas( "b" ), "No encontró la cadena sin tener en cuenta mayúsculas" );
+        assertFalse( sencillo.contieneSinMayusculasOMinusculas( "f" ), "Encontró una cadena que no está en el conjunto" );
+        assertFalse( vacio.contieneSinMayusculasOMinusculas( "a" ), "Encontró una cadena en el conjunto vacío" );
+    }
+
     @Test
     void testEliminarPrimera( )
     {
@@ -300,6 +411,19 @@ class TestSandboxConjuntos
         }
     }
 
+    @Test
+    void testReiniciarConjuntoCadenasDesordenadas( )
+    {
+        List<Object> objetos = new ArrayList<Object>( Arrays.asList( 30, "b", 4, "a", "b", 30, 100 ) );
+        sencillo.reiniciarConjuntoCadenas( objetos );
+        assertEquals( Arrays.asList( "100", "30", "4", "a", "b" ), sencillo.getCadenasComoLista( ), "No se reinició correctamente el conjunto" );
+        sencillo.agregarCadena( "5" );
+        assertEquals( 6, sencillo.getCantidadCadenas( ), "No se pudo agregar después de reiniciar" );
+
+        sencillo.reiniciarConjuntoCadenas( new ArrayList<Object>( ) );
+        assertEquals( 0, sencillo.getCantidadCadenas( ), "El conjunto debería quedar vacío" );
+    }
+
     @Test
     void testVolverMayusculas( )
     {
@@ -312,6 +436,22 @@ class TestSandboxConjuntos
         }
     }
 
+    @Test
+    void testVolverMayusculasMixtas( )
+    {
+        String[] cadenas = new String[]{ "ñandú", "Casa", "casa", "CASA", "árbol", "zeta1", "ZETA2", "" };
+        TreeSet<String> esperado = new TreeSet<String>( );
+        for( String cadena : cadenas )
+        {
+            vacio.agregarCadena( cadena );
+            esperado.add( cadena.toUpperCase( ) );
+        }
+        vacio.volverMayusculas( );
+        assertEquals( new ArrayList<String>( esperado ), vacio.getCadenasComoLista( ), "No se ajustaron correctamente las cadenas a mayúsculas" );
+        assertEquals( "", vacio.getPrimera( ), "La primera cadena no es correcta" );
+        assertEquals( "ÑANDÚ", vacio.getUltima( ), "La última cadena no es correcta" );
+    }
+
     @Test
     void testVolverMayusculasVacio( )
     {
@@ -340,6 +480,20 @@ class TestSandboxConjuntos
         assertEquals( 0, copia.size( ), "La cantidad de cadenas no es correcta" );
     }
 
+    @Test
+    void testGetCadenasInvertidas( )
+    {
+        NavigableSet<String> invertidas = sencillo.getCadenasInvertidas( );
+        assertEquals( new ArrayList<String>( sencillo.invertirCadenas( ) ), new ArrayList<String>( invertidas ), "La vista no tiene el orden correcto" );
+        assertEquals( "e", invertidas.first( ), "La primera cadena de la vista no es correcta" );
+        assertEquals( "c", invertidas.higher( "d" ), "La navegación de la vista no es correcta" );
+
+        sencillo.agregarCadena( "f" );
+        assertEquals( "f", invertidas.first( ), "La vista no refleja los cambios del conjunto" );
+        assertThrows( UnsupportedOperationException.class, ( ) -> invertidas.add( "g" ), "La vista no se debería poder modificar" );
+        assertTrue( vacio.getCadenasInvertidas( ).isEmpty( ), "La vista del conjunto vacío debería estar vacía" );
+    }
+
     @Test
     void testCompararElementosIguales( )
     {
@@ -354,4 +508,379 @@ class TestSandboxConjuntos
         assertFalse( sencillo.compararElementos( cadenasMayusculasOrdenadas ), "No comparó correctamente los arreglos cuando eran diferentes" );
     }
 
+    @Test
+    void testGetConPrefijo( )
+    {
+        SandboxConjuntos radix = SandboxConjuntos.crearConArbolRadix( );
+        String[] rutas = new String[]{ "/usr/bin/java", "/usr/bin/javac", "/usr/lib", "/usr", "/var/log", "/usr/bin/jar" };
+        for( String ruta : rutas )
+        {
+            radix.agregarCadena( ruta );
+            vacio.agregarCadena( ruta );
+        }
+        List<String> esperado = Arrays.asList( "/usr/bin/jar", "/usr/bin/java", "/usr/bin/javac" );
+        assertEquals( esperado, radix.getConPrefijo( "/usr/bin/", 10 ), "Las cadenas con el prefijo no son correctas" );
+        assertEquals( esperado, vacio.getConPrefijo( "/usr/bin/", 10 ), "Las cadenas con el prefijo no son correctas" );
+        assertEquals( Arrays.asList( "/usr/bin/java", "/usr/bin/javac" ), radix.getConPrefijo( "/usr/bin/jav", 10 ), "Las cadenas con el prefijo no son correctas" );
+        assertEquals( Arrays.asList( "/usr", "/usr/bin/jar" ), radix.getConPrefijo( "/u", 2 ), "No se respetó el límite" );
+        assertEquals( 0, radix.getConPrefijo( "/usr/bin/javax", 10 ).size( ), "No debería haber cadenas con el prefijo" );
+        assertEquals( 6, radix.getConPrefijo( "", 10 ).size( ), "Todas las cadenas empiezan por el prefijo vacío" );
+
+        assertEquals( vacio.getCadenasComoLista( ), radix.getCadenasComoLista( ), "El orden de las cadenas no es correcto" );
+        assertEquals( "/usr", radix.getPrimera( ), "La primera cadena no es correcta" );
+        assertEquals( "/var/log", radix.getUltima( ), "La última cadena no es correcta" );
+        assertEquals( vacio.getSiguientes( "/usr/bin/javb" ), radix.getSiguientes( "/usr/bin/javb" ), "Las cadenas siguientes no son correctas" );
+    }
+
+    @Test
+    void testCompararElementosOrdenados( )
+    {
+        for( int i = 0; i < 8; i++ )
+        {
+            vacio.agregarCadena( "c" + ( 1000 + 2 * i ) );
+        }
+        assertTrue( vacio.compararElementos( new String[]{ "c1000", "c1000", "c1010", "c1014" } ), "No comparó correctamente un arreglo ordenado" );
+        assertFalse( vacio.compararElementos( new String[]{ "c1000", "c1011", "c1014" } ), "No comparó correctamente un arreglo ordenado con una cadena que no está" );
+        assertFalse( vacio.compararElementos( new String[]{ "c1014", "c1016" } ), "No comparó correctamente un arreglo que termina después del conjunto" );
+        assertFalse( vacio.compararElementos( new String[]{ "a", "c1000" } ), "No comparó correctamente un arreglo que empieza antes del conjunto" );
+        assertTrue( vacio.compararElementos( new String[0] ), "Un arreglo vacío siempre está contenido" );
+    }
+
+    @Test
+    void testCompararElementosConFiltroBloom( )
+    {
+        vacio.activarFiltroBloom( );
+        for( int i = 0; i < 1000; i++ )
+        {
+            vacio.agregarCadena( "c" + i );
+        }
+        assertTrue( vacio.compararElementos( new String[]{ "c9", "c500", "c0", "c999" } ), "No comparó correctamente con el filtro activo" );
+        for( int i = 0; i < 1000; i++ )
+        {
+            assertFalse( vacio.compararElementos( new String[]{ "c5", "x" + i } ), "El filtro aceptó una cadena que no está en el conjunto" );
+        }
+        for( int i = 0; i < 1000; i += 2 )
+        {
+            vacio.eliminarCadena( "c" + i );
+        }
+        assertFalse( vacio.compararElementos( new String[]{ "c1", "c4" } ), "El filtro no se actualizó al eliminar" );
+        assertTrue( vacio.compararElementos( new String[]{ "c7", "c1", "c999" } ), "No comparó correctamente después de reconstruir el filtro" );
+
+        sencillo.activarFiltroBloom( );
+        assertTrue( sencillo.compararElementos( cadenasSencillas ), "No comparó correctamente los arreglos cuando eran iguales" );
+        assertFalse( sencillo.compararElementos( cadenasMayusculasOrdenadas ), "No comparó correctamente los arreglos cuando eran diferentes" );
+    }
+
+    @Test
+    void testOperacionesEntreConjuntos( )
+    {
+        SandboxConjuntos otro = new SandboxConjuntos( );
+        for( String cadena : new String[]{ "a", "c", "f", "g", "B" } )
+        {
+            otro.agregarCadena( cadena );
+        }
+        assertEquals( Arrays.asList( "B", "a", "c", "d", "e", "f", "g" ), sinRepetidos.union( otro ).getCadenasComoLista( ), "La unión no es correcta" );
+        assertEquals( Arrays.asList( "B", "a", "c" ), sinRepetidos.interseccion( otro ).getCadenasComoLista( ), "La intersección no es correcta" );
+        assertEquals( Arrays.asList( "d", "e" ), sinRepetidos.diferencia( otro ).getCadenasComoLista( ), "La diferencia no es correcta" );
+        assertEquals( Arrays.asList( "f", "g" ), otro.diferencia( sinRepetidos ).getCadenasComoLista( ), "La diferencia no es correcta" );
+        assertEquals( Arrays.asList( "d", "e", "f", "g" ), sinRepetidos.diferenciaSimetrica( otro ).getCadenasComoLista( ), "La diferencia simétrica no es correcta" );
+
+        assertEquals( 7, sinRepetidos.contarUnion( otro ), "El tamaño de la unión no es correcto" );
+        assertEquals( 3, sinRepetidos.contarInterseccion( otro ), "El tamaño de la intersección no es correcto" );
+        assertEquals( 2, sinRepetidos.contarDiferencia( otro ), "El tamaño de la diferencia no es correcto" );
+        assertEquals( 4, sinRepetidos.contarDiferenciaSimetrica( otro ), "El tamaño de la diferencia simétrica no es correcto" );
+
+        assertEquals( sinRepetidos.getCadenasComoLista( ), sinRepetidos.union( vacio ).getCadenasComoLista( ), "La unión con el conjunto vacío no es correcta" );
+        assertEquals( 0, sinRepetidos.contarInterseccion( vacio ), "La intersección con el conjunto vacío debería estar vacía" );
+    }
+
+    @Test
+    void testOperacionesEntreConjuntosDesbalanceados( )
+    {
+        SandboxConjuntos grande = new SandboxConjuntos( );
+        TreeSet<String> esperado = new TreeSet<String>( );
+        for( int i = 0; i < 5000; i++ )
+        {
+            grande.agregarCadena( "c" + ( 10000 + i ) );
+        }
+        SandboxConjuntos pequeno = new SandboxConjuntos( );
+        for( int i = 0; i < 20; i++ )
+        {
+            String cadena = "c" + ( 10000 + i * 250 );
+            pequeno.agregarCadena( cadena );
+            esperado.add( cadena );
+        }
+        pequeno.agregarCadena( "c9" );
+        pequeno.agregarCadena( "a" );
+        assertEquals( new ArrayList<String>( esperado ), grande.interseccion( pequeno ).getCadenasComoLista( ), "La intersección no es correcta" );
+        assertEquals( new ArrayList<String>( esperado ), pequeno.interseccion( grande ).getCadenasComoLista( ), "La intersección no es correcta" );
+        assertEquals( 5002, grande.contarUnion( pequeno ), "El tamaño de la unión no es correcto" );
+        assertEquals( 4980, grande.contarDiferencia( pequeno ), "El tamaño de la diferencia no es correcto" );
+        assertEquals( Arrays.asList( "a", "c9" ), pequeno.diferencia( grande ).getCadenasComoLista( ), "La diferencia no es correcta" );
+        assertEquals( 4982, grande.contarDiferenciaSimetrica( pequeno ), "El tamaño de la diferencia simétrica no es correcto" );
+    }
+
+    @Test
+    void testCongelar( )
+    {
+        List<String> antes = sencillo.getCadenasComoLista( );
+        sencillo.congelar( );
+        assertTrue( sencillo.estaCongelado( ), "El conjunto debería estar congelado" );
+        assertEquals( antes, sencillo.getCadenasComoLista( ), "El contenido cambió al congelar" );
+        assertEquals( "B", sencillo.getPrimera( ), "La primera cadena no es correcta" );
+        assertEquals( "e", sencillo.getUltima( ), "La última cadena no es correcta" );
+        assertEquals( Arrays.asList( "c", "d", "e" ), new ArrayList<String>( sencillo.getSiguientes( "bb" ) ), "Las cadenas siguientes no son correctas" );
+        assertTrue( sencillo.compararElementos( cadenasSencillas ), "No comparó correctamente el conjunto congelado" );
+        assertThrows( UnsupportedOperationException.class, ( ) -> sencillo.agregarCadena( "f" ), "No se debería poder modificar un conjunto congelado" );
+        assertThrows( UnsupportedOperationException.class, ( ) -> sencillo.eliminarPrimera( ), "No se debería poder modificar un conjunto congelado" );
+        assertEquals( 5, sencillo.getCantidadCadenas( ), "El contenido cambió al intentar modificarlo" );
+
+        sencillo.descongelar( );
+        assertFalse( sencillo.estaCongelado( ), "El conjunto no debería estar congelado" );
+        sencillo.agregarCadena( "f" );
+        assertEquals( 6, sencillo.getCantidadCadenas( ), "No se pudo modificar el conjunto descongelado" );
+
+        vacio.congelar( );
+        assertEquals( null, vacio.getPrimera( ), "El conjunto congelado vacío no tiene primera cadena" );
+    }
+
+    /**
+     * Retorna la clase del conjunto donde la instancia guarda realmente sus cadenas (el conjunto envuelto por el ConjuntoCadenasIndexado)
+     */
+    private Class<?> getClaseRespaldo( SandboxConjuntos sandbox ) throws Exception
+    {
+        Field atributo = SandboxConjuntos.class.getDeclaredField( "arbolCadenas" );
+        atributo.setAccessible( true );
+        Object indexado = atributo.get( sandbox );
+        Method getDelegado = indexado.getClass( ).getDeclaredMethod( "getDelegado" );
+        getDelegado.setAccessible( true );
+        return getDelegado.invoke( indexado ).getClass( );
+    }
+
+    @Test
+    void testDescongelarConservaRespaldo( ) throws Exception
+    {
+        SandboxConjuntos[] sandboxes = new SandboxConjuntos[]{ SandboxConjuntos.crearConArbolRadix( ), SandboxConjuntos.crearConArbolEstadistico( ),
+                SandboxConjuntos.crearConArbolPersistente( ), new SandboxConjuntos( ) };
+        for( SandboxConjuntos sandbox : sandboxes )
+        {
+            for( String cadena : cadenasSencillas )
+            {
+                sandbox.agregarCadena( cadena );
+            }
+            Class<?> respaldo = getClaseRespaldo( sandbox );
+            assertEquals( respaldo, getClaseRespaldo( sandbox.union( sencillo ) ), "La unión debería usar el mismo tipo de conjunto" );
+
+            sandbox.congelar( );
+            assertEquals( respaldo, getClaseRespaldo( sandbox.copiar( ) ), "La copia de un conjunto congelado debería usar el tipo original" );
+            sandbox.descongelar( );
+            assertEquals( respaldo, getClaseRespaldo( sandbox ), "Al descongelar se debería volver al tipo de conjunto original" );
+            assertEquals( sencillo.getCadenasComoLista( ), sandbox.getCadenasComoLista( ), "El contenido cambió al congelar y descongelar" );
+            sandbox.agregarCadena( "f" );
+            assertEquals( 6, sandbox.getCantidadCadenas( ), "No se pudo modificar el conjunto descongelado" );
+        }
+    }
+
+    @Test
+    void testPosiciones( )
+    {
+        SandboxConjuntos estadistico = SandboxConjuntos.crearConArbolEstadistico( );
+        for( String cadena : cadenasSencillas )
+        {
+            estadistico.agregarCadena( cadena );
+        }
+        SandboxConjuntos congelado = new SandboxConjuntos( );
+        for( String cadena : cadenasSencillas )
+        {
+            congelado.agregarCadena( cadena );
+        }
+        congelado.congelar( );
+        for( SandboxConjuntos conjunto : new SandboxConjuntos[]{ sencillo, estadistico, congelado } )
+        {
+            for( int i = 0; i < cadenasOrdenadas.length; i++ )
+            {
+                assertEquals( cadenasOrdenadas[ i ], conjunto.getCadenaEnPosicion( i ), "La cadena en la posición no es correcta" );
+                assertEquals( i, conjunto.getPosicion( cadenasOrdenadas[ i ] ), "La posición de la cadena no es correcta" );
+            }
+            assertEquals( 2, conjunto.getPosicion( "b" ), "La posición de una cadena que no está no es correcta" );
+            assertEquals( 5, conjunto.getPosicion( "z" ), "La posición de una cadena que no está no es correcta" );
+            assertEquals( "B", conjunto.getPercentil( 0 ), "El percentil 0 no es correcto" );
+            assertEquals( "c", conjunto.getPercentil( 50 ), "La mediana no es correcta" );
+            assertEquals( "d", conjunto.getPercentil( 61 ), "El percentil 61 no es correcto" );
+            assertEquals( "e", conjunto.getPercentil( 100 ), "El percentil 100 no es correcto" );
+        }
+        assertThrows( IllegalArgumentException.class, ( ) -> sencillo.getPercentil( 101 ), "El percentil debe estar entre 0 y 100" );
+        assertEquals( null, vacio.getPercentil( 50 ), "El conjunto vacío no tiene percentiles" );
+
+        estadistico.eliminarPrimera( );
+        assertEquals( "a", estadistico.getCadenaEnPosicion( 0 ), "La posición no se actualizó al eliminar" );
+    }
+
+    @Test
+    void testModoConcurrente( ) throws Exception
+    {
+        SandboxConjuntos concurrente = SandboxConjuntos.crearConcurrente( );
+        assertTrue( concurrente.esConcurrente( ), "La instancia debería estar en modo concurrente" );
+        assertFalse( sencillo.esConcurrente( ), "La instancia no debería estar en modo concurrente" );
+        assertEquals( null, concurrente.getPrimera( ), "El conjunto vacío no tiene primera cadena" );
+
+        Thread[] escritores = new Thread[4];
+        List<Throwable> errores = Collections.synchronizedList( new ArrayList<Throwable>( ) );
+        for( int t = 0; t < escritores.length; t++ )
+        {
+            final int numero = t;
+            escritores[ t ] = new Thread( ( ) -> {
+                try
+                {
+                    for( int i = 0; i < 1000; i++ )
+                    {
+                        concurrente.agregarCadena( "c" + numero + "-" + ( 1000 + i ) );
+                        concurrente.getPrimera( );
+                        concurrente.getSiguientes( "c" + numero );
+                        if( i % 2 == 1 )
+                        {
+                            concurrente.eliminarCadena( "c" + numero + "-" + ( 1000 + i ) );
+                        }
+                    }
+                }
+                catch( Throwable error )
+                {
+                    errores.add( error );
+                }
+            } );
+            escritores[ t ].start( );
+        }
+        for( Thread escritor : escritores )
+        {
+            escritor.join( );
+        }
+        assertEquals( 0, errores.size( ), "Hubo errores en los threads: " + errores );
+        assertEquals( 2000, concurrente.getCantidadCadenas( ), "La cantidad de cadenas no es correcta" );
+        assertEquals( "c0-1000", concurrente.getPrimera( ), "La primera cadena no es correcta" );
+        assertEquals( "c3-1998", concurrente.getUltima( ), "La última cadena no es correcta" );
+        assertEquals( 500, concurrente.getSiguientes( "c3" ).size( ), "Las cadenas siguientes no son correctas" );
+        assertEquals( "c1-1000", concurrente.getCadenaEnPosicion( 500 ), "La cadena en la posición no es correcta" );
+        assertEquals( 500, concurrente.getPosicion( "c1" ), "La posición no es correcta" );
+        assertEquals( 2000, concurrente.contarInterseccion( concurrente.union( vacio ) ), "La intersección no es correcta" );
+
+        assertTrue( concurrente.compararElementos( new String[]{ "c2-1000", "c0-1002" } ), "No comparó correctamente en modo concurrente" );
+        assertFalse( concurrente.contieneSinMayusculasOMinusculas( "C0-1001" ), "Encontró una cadena eliminada" );
+        assertTrue( concurrente.contieneSinMayusculasOMinusculas( "C0-1002" ), "No encontró la cadena sin tener en cuenta mayúsculas" );
+        assertThrows( UnsupportedOperationException.class, ( ) -> concurrente.activarIndiceSinMayusculas( ), "No hay índices en modo concurrente" );
+        assertThrows( UnsupportedOperationException.class, ( ) -> concurrente.congelar( ), "No se puede congelar en modo concurrente" );
+        assertFalse( concurrente.estaCongelado( ), "El conjunto concurrente no está congelado" );
+    }
+
+    @Test
+    void testCopiar( )
+    {
+        SandboxConjuntos persistente = SandboxConjuntos.crearConArbolPersistente( );
+        for( String cadena : cadenasSencillas )
+        {
+            persistente.agregarCadena( cadena );
+        }
+        for( SandboxConjuntos original : new SandboxConjuntos[]{ sencillo, persistente, SandboxConjuntos.crearConcurrente( ) } )
+        {
+            original.agregarCadena( "m" );
+            List<String> antes = original.getCadenasComoLista( );
+            SandboxConjuntos copia = original.copiar( );
+            assertEquals( antes, copia.getCadenasComoLista( ), "La copia no tiene las mismas cadenas" );
+
+            original.agregarCadena( "z" );
+            original.eliminarCadena( "m" );
+            copia.agregarCadena( "0" );
+            assertEquals( antes.size( ) + 1, copia.getCantidadCadenas( ), "La copia cambió al modificar el original" );
+            assertTrue( copia.compararElementos( new String[]{ "m", "0" } ), "La copia cambió al modificar el original" );
+            assertFalse( original.compararElementos( new String[]{ "0" } ), "El original cambió al modificar la copia" );
+        }
+        assertEquals( 2, persistente.getPosicion( "a0" ), "La posición no es correcta" );
+        assertEquals( "c", persistente.getPercentil( 50 ), "La mediana no es correcta" );
+    }
+
+    @Test
+    void testBuscarSimilares( )
+    {
+        String[] palabras = new String[]{ "casa", "caso", "cosa", "masa", "casas", "cama", "perro", "pera", "carro", "cas", "" };
+        SandboxConjuntos conIndice = new SandboxConjuntos( );
+        conIndice.activarIndiceSimilares( );
+        for( String palabra : palabras )
+        {
+            conIndice.agregarCadena( palabra );
+            vacio.agregarCadena( palabra );
+        }
+        List<String> esperadas = Arrays.asList( "cama", "cas", "casa", "casas", "caso", "cosa", "masa" );
+        assertEquals( esperadas, vacio.buscarSimilares( "casa", 1 ), "Las cadenas similares no son correctas" );
+        assertEquals( esperadas, conIndice.buscarSimilares( "casa", 1 ), "Las cadenas similares no son correctas" );
+        assertEquals( Arrays.asList( "casa" ), conIndice.buscarSimilares( "casa", 0 ), "Con distancia 0 sólo se encuentra la misma cadena" );
+        for( int distancia = 0; distancia <= 5; distancia++ )
+        {
+            assertEquals( vacio.buscarSimilares( "pero", distancia ), conIndice.buscarSimilares( "pero", distancia ), "El índice no coincide con la búsqueda completa" );
+        }
+
+        conIndice.eliminarCadena( "cosa" );
+        conIndice.eliminarCadena( "masa" );
+        assertEquals( Arrays.asList( "cama", "cas", "casa", "casas", "caso" ), conIndice.buscarSimilares( "casa", 1 ), "El índice no se actualizó al eliminar" );
+        for( String palabra : palabras )
+        {
+            conIndice.eliminarCadena( palabra );
+        }
+        conIndice.agregarCadena( "cosa" );
+        assertEquals( Arrays.asList( "cosa" ), conIndice.buscarSimilares( "casa", 1 ), "El índice no se actualizó al volver a agregar" );
+    }
+
+    @Test
+    void testOrdenCotejado( )
+    {
+        Collator cotejador = Collator.getInstance( Locale.forLanguageTag( "es" ) );
+        SandboxConjuntos cotejado = SandboxConjuntos.crearConOrdenCotejado( cotejador );
+        SandboxConjuntos otro = SandboxConjuntos.crearConOrdenCotejado( cotejador );
+        for( String cadena : new String[]{ "zapato", "árbol", "Barco", "arco", "ñandú", "nube", "oso" } )
+        {
+            cotejado.agregarCadena( cadena );
+        }
+        for( String cadena : new String[]{ "oso", "árbol", "zorro" } )
+        {
+            otro.agregarCadena( cadena );
+        }
+        List<String> esperado = Arrays.asList( "árbol", "arco", "Barco", "nube", "ñandú", "oso", "zapato" );
+        assertEquals( esperado, cotejado.getCadenasComoLista( ), "Las cadenas no quedaron en el orden del idioma" );
+        assertEquals( "árbol", cotejado.getPrimera( ), "La primera cadena no es correcta" );
+        assertEquals( Arrays.asList( "ñandú", "oso", "zapato" ), new ArrayList<String>( cotejado.getSiguientes( "ñ" ) ), "Las cadenas siguientes no son correctas" );
+        assertEquals( 2, cotejado.getPosicion( "b" ), "La posición no es correcta" );
+        assertEquals( "nube", cotejado.getCadenaEnPosicion( 3 ), "La cadena en la posición no es correcta" );
+        assertTrue( cotejado.compararElementos( new String[]{ "arco", "nube", "oso" } ), "No comparó correctamente en el orden del idioma" );
+        assertEquals( Arrays.asList( "arco" ), cotejado.getConPrefijo( "ar", 5 ), "Las cadenas con el prefijo no son correctas" );
+
+        assertEquals( Arrays.asList( "árbol", "oso" ), cotejado.interseccion( otro ).getCadenasComoLista( ), "La intersección no es correcta" );
+        assertEquals( Arrays.asList( "árbol", "arco", "Barco", "nube", "ñandú", "oso", "zapato", "zorro" ), cotejado.union( otro ).getCadenasComoLista( ), "La unión no es correcta" );
+        assertEquals( 1, otro.contarDiferencia( cotejado ), "El tamaño de la diferencia no es correcto" );
+        assertEquals( esperado, cotejado.copiar( ).getCadenasComoLista( ), "La copia no conserva el orden" );
+        assertThrows( IllegalArgumentException.class, ( ) -> cotejado.union( sencillo ), "No se deberían poder combinar conjuntos con órdenes distintos" );
+        assertThrows( UnsupportedOperationException.class, ( ) -> cotejado.congelar( ), "Sólo se pueden congelar conjuntos en orden lexicográfico" );
+        assertThrows( UnsupportedOperationException.class, ( ) -> cotejado.activarFiltroBloom( ), "El filtro de Bloom sólo se puede usar en orden lexicográfico" );
+        assertEquals( Arrays.asList( "árbol", "arco", "Barco" ), new ArrayList<String>( cotejado.getRango( "árbol", true, "Barco", true ) ), "El rango no usa el orden del idioma" );
+        assertEquals( Arrays.asList( "árbol", "arco" ), cotejado.getPagina( "árbol", true, "Barco", true, 2 ).getCadenas( ), "La página no usa el orden del idioma" );
+
+        cotejado.volverMayusculas( );
+        assertEquals( "ÁRBOL", cotejado.getPrimera( ), "No se conservó el orden al volver mayúsculas" );
+    }
+
+    @Test
+    void testIndicesConOrdenCotejado( )
+    {
+        Collator cotejador = Collator.getInstance( Locale.forLanguageTag( "es" ) );
+        cotejador.setStrength( Collator.PRIMARY );
+        SandboxConjuntos cotejado = SandboxConjuntos.crearConOrdenCotejado( cotejador );
+        cotejado.activarIndiceSinMayusculas( );
+        cotejado.activarIndiceSimilares( );
+        cotejado.agregarCadena( "arbol" );
+        cotejado.agregarCadena( "barco" );
+        cotejado.eliminarCadena( "ÁRBOL" );
+        assertEquals( Arrays.asList( "barco" ), cotejado.getCadenasComoLista( ), "No se eliminó la cadena igual según el idioma" );
+        assertFalse( cotejado.contieneSinMayusculasOMinusculas( "arbol" ), "El índice sin mayúsculas quedó con la cadena eliminada" );
+        assertEquals( Collections.emptyList( ), cotejado.buscarSimilares( "arbol", 1 ), "El índice de similares quedó con la cadena eliminada" );
+        cotejado.agregarCadena( "Árbol" );
+        assertTrue( cotejado.contieneSinMayusculasOMinusculas( "ÁRBOL" ), "El índice sin mayúsculas no tiene la cadena agregada" );
+        assertEquals( Arrays.asList( "Árbol" ), cotejado.buscarSimilares( "Árbol", 0 ), "El índice de similares no tiene la cadena agregada" );
+    }
 }
@@ -3,16 +3,23 @@ package uniandes.dpoo.estructuras.tests;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.text.Collator;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import uniandes.dpoo.estructuras.logica.ListaEnteros;
 import uniandes.dpoo.estructuras.logica.SandboxListas;
 
 class TestSandboxListas
@@ -57,6 +64,32 @@ class TestSandboxListas
         vacio = null;
     }
 
+    @Test
+    void testGetEnterosComoStream( )
+    {
+        assertEquals( Arrays.stream( enterosSencillos ).sum( ), sencillo.getEnterosComoStream( ).sum( ), "El stream no tiene los enteros esperados" );
+        assertEquals( 0, vacio.getEnterosComoStream( ).count( ), "El stream de la lista vacía no debería tener elementos" );
+
+        sencillo.generarEnteros( 100000, -10, 10 );
+        int[] arreglo = sencillo.getEnterosComoArreglo( );
+        assertEquals( Arrays.stream( arreglo ).sum( ), sencillo.getEnterosComoStream( ).parallel( ).sum( ), "El stream paralelo no tiene los enteros esperados" );
+        assertTrue( Arrays.equals( arreglo, sencillo.getEnterosComoStream( ).parallel( ).toArray( ) ), "El stream paralelo no conservó el orden de los enteros" );
+    }
+
+    @Test
+    void testGetEnterosComoStreamModificado( )
+    {
+        assertThrows( ConcurrentModificationException.class, ( ) -> sencillo.getEnterosComoStream( ).forEach( entero -> sencillo.agregarEntero( entero ) ),
+                "No se detectó la modificación de la lista mientras se recorría" );
+    }
+
+    @Test
+    void testGetCadenasComoStream( )
+    {
+        assertEquals( Arrays.asList( cadenasSencillas ), sencillo.getCadenasComoStream( ).collect( Collectors.toList( ) ), "El stream no tiene las cadenas esperadas" );
+        assertEquals( 0, vacio.getCadenasComoStream( ).count( ), "El stream de la lista vacía no debería tener elementos" );
+    }
+
     @Test
     void testGetCantidadEnteros( )
     {
@@ -446,6 +479,31 @@ class TestSandboxListas
         }
     }
 
+    @Test
+    void testReiniciarArregloCadenasEnParalelo( )
+    {
+        Object[] nuevosValores = new Object[]{ Double.valueOf( "0.01" ), Character.valueOf( 'a' ), "Hello", Integer.valueOf( "25" ), Boolean.FALSE };
+
+        sencillo.reiniciarArregloCadenasEnParalelo( Arrays.asList( nuevosValores ) );
+        assertEquals( nuevosValores.length, sencillo.getCantidadCadenas( ), "La nueva cantidad de cadenas no es la correcta" );
+        List<String> copia = sencillo.getCopiaCadenas( );
+        for( int i = 0; i < nuevosValores.length; i++ )
+        {
+            assertEquals( nuevosValores[ i ].toString( ), copia.get( i ), "No se ajustaron correctamente las cadenas existentes" );
+        }
+
+        // Una lista enlazada larga: la conversión se reparte entre procesadores aunque la lista recibida no tenga acceso directo por posición
+        List<Object> muchosValores = new LinkedList<Object>( );
+        for( int i = 0; i < 30000; i++ )
+        {
+            muchosValores.add( "c" + i );
+        }
+        sencillo.reiniciarArregloCadenasEnParalelo( muchosValores );
+        assertEquals( muchosValores, sencillo.getCopiaCadenas( ), "No se ajustaron correctamente las cadenas en paralelo" );
+        sencillo.agregarCadena( "nueva" );
+        assertEquals( 30001, sencillo.getCantidadCadenas( ), "La lista nueva se debería poder seguir modificando" );
+    }
+
     @Test
     void testVolverPositivos( )
     {
@@ -532,6 +590,103 @@ class TestSandboxListas
         assertEquals( 0, copia.size( ), "La cantidad de enteros es correcta" );
     }
 
+    @Test
+    void testOrganizarEnterosVariasVeces( )
+    {
+        sencillo.organizarEnteros( );
+        sencillo.organizarEnteros( );
+        sencillo.agregarEntero( -100 );
+        sencillo.organizarEnteros( );
+
+        List<Integer> copia = sencillo.getCopiaEnteros( );
+        assertEquals( enterosSencillos.length + 1, copia.size( ), "La cantidad de enteros no es correcta" );
+        assertEquals( 9, copia.get( 0 ), "El primer entero no es correcto" );
+        assertEquals( -100, copia.get( copia.size( ) - 1 ), "El último entero no es correcto" );
+        for( int i = 1; i < copia.size( ); i++ )
+        {
+            assertTrue( copia.get( i - 1 ) >= copia.get( i ), "No se organizaron correctamente los enteros" );
+        }
+    }
+
+    @Test
+    void testOrganizarEnterosEnParalelo( )
+    {
+        sencillo.generarEnteros( 100000, -1000, 1000 );
+        sencillo.organizarEnterosEnParalelo( );
+
+        List<Integer> copia = sencillo.getCopiaEnteros( );
+        assertEquals( 100000, copia.size( ), "La cantidad de enteros no es correcta" );
+        for( int i = 1; i < copia.size( ); i++ )
+        {
+            assertTrue( copia.get( i - 1 ) >= copia.get( i ), "No se organizaron correctamente los enteros" );
+        }
+    }
+
+    @Test
+    void testOperacionesDiferidas( )
+    {
+        SandboxListas inmediato = new SandboxListas( );
+        for( int i = 0; i < enterosSencillos.length; i++ )
+        {
+            inmediato.agregarEntero( enterosSencillos[ i ] );
+        }
+
+        sencillo.activarOperacionesDiferidas( );
+        sencillo.volverPositivos( );
+        sencillo.eliminarEntero( 6 );
+        sencillo.eliminarEntero( 4 );
+        inmediato.volverPositivos( );
+        inmediato.eliminarEntero( 6 );
+        inmediato.eliminarEntero( 4 );
+
+        assertEquals( inmediato.contarApariciones( 5 ), sencillo.contarApariciones( 5 ), "No se contaron correctamente las apariciones con operaciones pendientes" );
+        assertEquals( 0, sencillo.contarApariciones( 6 ), "No se aplicó la eliminación pendiente" );
+        assertEquals( inmediato.getCantidadEnteros( ), sencillo.getCantidadEnteros( ), "La cantidad de enteros no es correcta" );
+
+        sencillo.volverPositivos( );
+        sencillo.eliminarEntero( 9 );
+        inmediato.eliminarEntero( 9 );
+        sencillo.organizarEnteros( );
+        inmediato.organizarEnteros( );
+        assertEquals( inmediato.getCopiaEnteros( ), sencillo.getCopiaEnteros( ), "Las operaciones diferidas no tuvieron el mismo resultado" );
+
+        sencillo.eliminarEntero( 8 );
+        sencillo.desactivarOperacionesDiferidas( );
+        assertEquals( 0, sencillo.contarApariciones( 8 ), "No se aplicaron las operaciones pendientes al desactivar el modo diferido" );
+        sencillo.eliminarEntero( 7 );
+        assertEquals( 0, sencillo.contarApariciones( 7 ), "No se aplicó la eliminación después de desactivar el modo diferido" );
+    }
+
+    @Test
+    void testOperacionDiferidaConError( )
+    {
+        ListaEnteros lista = new ListaEnteros( );
+        for( int i = 1; i <= 6; i++ )
+        {
+            lista.agregar( i );
+        }
+        boolean[] fallar = new boolean[]{ true };
+        lista.setModoDiferido( true );
+        lista.filtrar( v -> v % 2 == 0 );
+        lista.transformar( v -> {
+            if( fallar[ 0 ] && v == 4 )
+            {
+                throw new ArithmeticException( "4" );
+            }
+            return v * 10;
+        } );
+        assertThrows( ArithmeticException.class, ( ) -> lista.size( ), "El error de la transformación se debería propagar" );
+        assertThrows( ArithmeticException.class, ( ) -> lista.contar( 20 ), "Las operaciones pendientes no se deberían perder después del error" );
+        fallar[ 0 ] = false;
+        assertEquals( Arrays.asList( 20, 40, 60 ), lista, "Después del error la lista debería conservar su contenido y sus operaciones pendientes" );
+
+        lista.setModoDiferido( false );
+        assertThrows( ArithmeticException.class, ( ) -> lista.transformar( v -> 10 / ( v - 40 ) ), "El error de la transformación se debería propagar" );
+        assertEquals( Arrays.asList( 20, 40, 60 ), lista, "Una transformación que falla no debería cambiar la lista" );
+        lista.filtrar( v -> v > 30 );
+        assertEquals( Arrays.asList( 40, 60 ), lista, "La transformación que falló no se debería aplicar después" );
+    }
+
     @Test
     void testOrganizarCadenas( )
     {
@@ -545,6 +700,24 @@ class TestSandboxListas
         }
     }
 
+    @Test
+    void testOrganizarCadenasCotejado( )
+    {
+        Collator cotejador = Collator.getInstance( Locale.forLanguageTag( "es" ) );
+        sencillo.agregarCadena( "árbol" );
+        sencillo.agregarCadena( "Árbol" );
+        sencillo.agregarCadena( "arco" );
+        sencillo.organizarCadenas( cotejador );
+
+        List<String> copia = sencillo.getCopiaCadenas( );
+
+        for( int i = 1; i < copia.size( ); i++ )
+        {
+            assertTrue( cotejador.compare( copia.get( i - 1 ), copia.get( i ) ) <= 0, "No se organizaron correctamente las cadenas" );
+        }
+        assertTrue( copia.indexOf( "arco" ) > copia.indexOf( "árbol" ), "No se usó el orden del idioma" );
+    }
+
     @Test
     void testOrganizarCadenasVacio( )
     {
@@ -594,6 +767,36 @@ class TestSandboxListas
         assertFalse( vacio.compararArregloEnteros( enterosSencillos ), "No comparó correctamente los arreglos cuando eran diferentes" );
     }
 
+    @Test
+    void testCompararArregloEnterosConHuella( )
+    {
+        int[] iguales = new int[]{ 9, 8, 7, 6, 5, 4, 3, 2, 1, 0 };
+        int[] diferentes = new int[]{ 9, 8, 7, 6, 5, 4, 3, 2, 0, 1 };
+
+        assertEquals( SandboxListas.calcularHuella( iguales ), sinRepetidos.getHuellaEnteros( ), "La huella de la lista no es correcta" );
+        assertTrue( sinRepetidos.compararArregloEnteros( iguales, SandboxListas.calcularHuella( iguales ) ), "No comparó correctamente los arreglos cuando eran iguales" );
+        assertFalse( sinRepetidos.compararArregloEnteros( diferentes, SandboxListas.calcularHuella( diferentes ) ), "No comparó correctamente los arreglos cuando eran diferentes" );
+        assertTrue( vacio.compararArregloEnteros( new int[]{}, SandboxListas.calcularHuella( new int[]{} ) ), "No comparó correctamente los arreglos vacíos" );
+    }
+
+    @Test
+    void testHuellaDespuesDeModificar( )
+    {
+        sinRepetidos.agregarEntero( 42 );
+        assertEquals( SandboxListas.calcularHuella( new int[]{ 9, 8, 7, 6, 5, 4, 3, 2, 1, 0, 42 } ), sinRepetidos.getHuellaEnteros( ), "La huella no se actualizó al agregar" );
+
+        sinRepetidos.insertarEntero( 100, 3 );
+        sinRepetidos.eliminarEnteroPorPosicion( 0 );
+        sinRepetidos.volverPositivos( );
+        int[] esperado = new int[]{ 8, 7, 100, 6, 5, 4, 3, 2, 1, 0, 42 };
+        assertEquals( SandboxListas.calcularHuella( esperado ), sinRepetidos.getHuellaEnteros( ), "La huella no se recalculó después de modificar la lista" );
+        assertTrue( sinRepetidos.compararArregloEnteros( esperado, SandboxListas.calcularHuella( esperado ) ), "No comparó correctamente los arreglos cuando eran iguales" );
+
+        sinRepetidos.organizarEnteros( );
+        assertTrue( sinRepetidos.compararArregloEnteros( new int[]{ 100, 42, 8, 7, 6, 5, 4, 3, 2, 1, 0 } ), "No comparó correctamente la lista organizada" );
+        assertFalse( sinRepetidos.compararArregloEnteros( esperado, SandboxListas.calcularHuella( esperado ) ), "No comparó correctamente los arreglos cuando eran diferentes" );
+    }
+
     @Test
     void testGenerarEnterosBasico( )
     {
@@ -213,4 +213,136 @@ class TestSandboxMapas
         assertFalse( sencillo.compararValores( llaves ), "Se equivocó cuando se mezclaron las llaves con los valores" );
     }
 
+    @Test
+    void testOrdenDespuesDeModificar( )
+    {
+        sencillo.eliminarCadenaConLLave( "BB" );
+        sencillo.eliminarCadenaConValor( "ee" );
+        assertEquals( "aa", sencillo.getPrimera( ), "La primera llave no se actualizó al eliminar" );
+        assertEquals( "eB", sencillo.getUltima( ), "La última llave no se actualizó al eliminar" );
+
+        sencillo.agregarCadena( "zyx" );
+        sencillo.agregarCadena( "A" );
+        assertEquals( "A", sencillo.getPrimera( ), "La primera llave no se actualizó al agregar" );
+        assertEquals( "xyz", sencillo.getUltima( ), "La última llave no se actualizó al agregar" );
+
+        sencillo.volverMayusculas( );
+        assertEquals( Arrays.asList( "XYZ", "EB", "DD", "CC", "AAA", "AA", "A" ), sencillo.getLlavesComoListaInvertida( ), "Las llaves no se actualizaron al volverlas mayúsculas" );
+        assertEquals( Arrays.asList( "A", "Be", "aa", "aaa", "cc", "dd", "zyx" ), sencillo.getValoresComoLista( ), "Los valores no se conservaron al volver mayúsculas las llaves" );
+    }
+
+    @Test
+    void testValoresRepetidosOrdenados( )
+    {
+        vacio.reiniciarMapaCadenas( Arrays.asList( "ab", "ba" ) );
+        vacio.agregarCadena( "ab" );
+        assertEquals( Arrays.asList( "ab", "ab" ), vacio.getValoresComoLista( ), "Los valores repetidos deberían aparecer una vez por llave" );
+        assertEquals( Arrays.asList( "ba", "ab" ), vacio.getLlavesComoListaInvertida( ), "Las llaves no son correctas" );
+    }
+
+    @Test
+    void testEliminarValorRepetido( )
+    {
+        vacio.reiniciarMapaCadenas( Arrays.asList( "ab", "cd" ) );
+        vacio.agregarCadena( "ab" );
+        vacio.agregarCadena( "xy" );
+        assertTrue( vacio.compararValores( new String[]{ "ab", "xy", "cd" } ), "No comparó correctamente los valores" );
+
+        vacio.eliminarCadenaConLLave( "ab" );
+        assertEquals( Arrays.asList( "cd", "xy" ), vacio.getValoresComoLista( ), "Se deberían eliminar todas las llaves con el mismo valor" );
+        assertFalse( vacio.compararValores( new String[]{ "xy", "ab" } ), "El valor eliminado no debería estar" );
+
+        vacio.eliminarCadenaConValor( "cd" );
+        vacio.eliminarCadenaConLLave( "zz" );
+        assertEquals( Arrays.asList( "yx" ), vacio.getLlavesComoListaInvertida( ), "Sólo debería quedar la última llave" );
+    }
+
+    @Test
+    void testCantidadCadenasDiferentesAlSobrescribir( )
+    {
+        vacio.reiniciarMapaCadenas( Arrays.asList( "ab", "ba" ) );
+        assertEquals( 2, vacio.getCantidadCadenasDiferentes( ), "La cantidad de cadenas no es correcta" );
+        vacio.agregarCadena( "ab" );
+        assertEquals( 1, vacio.getCantidadCadenasDiferentes( ), "Al sobrescribir la llave 'ba' el valor 'ba' debería desaparecer" );
+        vacio.agregarCadena( "AB" );
+        vacio.agregarCadena( "xy" );
+        assertEquals( 3, vacio.getCantidadCadenasDiferentes( ), "La cantidad de cadenas no es correcta" );
+        vacio.volverMayusculas( );
+        assertEquals( 2, vacio.getCantidadCadenasDiferentes( ), "La llave 'BA' debería sobrescribir el valor 'AB'" );
+        vacio.eliminarCadenaConValor( "ab" );
+        assertEquals( 1, vacio.getCantidadCadenasDiferentes( ), "La cantidad de cadenas debería haber disminuido en 1" );
+    }
+
+    @Test
+    void testAgregarCadenaConservaCaracteres( )
+    {
+        vacio.agregarCadena( "a😀" );
+        assertEquals( "😀a", vacio.getPrimera( ), "La llave debería conservar el emoji completo" );
+
+        StringBuilder larga = new StringBuilder( );
+        for( int i = 0; i < 100000; i++ )
+        {
+            larga.append( ( char ) ( 'a' + i % 26 ) );
+        }
+        vacio.agregarCadena( larga.toString( ) );
+        assertEquals( 2, vacio.getCantidadCadenasDiferentes( ), "La cantidad de cadenas no es correcta" );
+        vacio.eliminarCadenaConLLave( larga.reverse( ).toString( ) );
+        assertEquals( 1, vacio.getCantidadCadenasDiferentes( ), "La llave de la cadena larga no es correcta" );
+    }
+
+    @Test
+    void testAgregarCadenas( )
+    {
+        vacio.agregarCadenas( Arrays.asList( cadenasSencillas ) );
+        assertEquals( Arrays.asList( cadenasOrdenadas ), vacio.getValoresComoLista( ), "Los valores no son correctos" );
+        assertEquals( Arrays.asList( llavesInvertidas ), vacio.getLlavesComoListaInvertida( ), "Las llaves no son correctas" );
+
+        sencillo.agregarCadenas( Arrays.asList( "xyz", "aa" ) );
+        assertEquals( cadenasOrdenadas.length + 1, sencillo.getCantidadCadenasDiferentes( ), "La cantidad de cadenas no es correcta" );
+        assertEquals( "zyx", sencillo.getUltima( ), "La última llave no es correcta" );
+        sencillo.eliminarCadenaConValor( "xyz" );
+        assertTrue( sencillo.compararValores( cadenasSencillas ), "No se conservaron los valores anteriores" );
+    }
+
+    @Test
+    void testCompacto( )
+    {
+        SandboxMapas compacto = SandboxMapas.crearCompacto( );
+        compacto.agregarCadenas( Arrays.asList( cadenasSencillas ) );
+        assertEquals( cadenasOrdenadas.length, compacto.getCantidadCadenasDiferentes( ), "La cantidad de cadenas no es correcta" );
+        assertEquals( Arrays.asList( cadenasOrdenadas ), compacto.getValoresComoLista( ), "Los valores no son correctos" );
+        assertEquals( Arrays.asList( llavesInvertidas ), compacto.getLlavesComoListaInvertida( ), "Las llaves no son correctas" );
+        assertEquals( "BB", compacto.getPrimera( ), "La primera llave no es correcta" );
+        assertTrue( compacto.compararValores( cadenasSencillas ), "No comparó correctamente los valores" );
+
+        compacto.eliminarCadenaConLLave( "eB" );
+        compacto.eliminarCadenaConValor( "aaa" );
+        assertEquals( cadenasOrdenadas.length - 2, compacto.getCantidadCadenasDiferentes( ), "La cantidad de cadenas debería haber disminuido en 2" );
+
+        compacto.volverMayusculas( );
+        assertEquals( Arrays.asList( "EE", "DD", "CC", "BB", "AA" ), compacto.getLlavesComoListaInvertida( ), "No se ajustaron correctamente las llaves a mayúsculas" );
+        assertEquals( Arrays.asList( "BB", "aa", "cc", "dd", "ee" ), compacto.getValoresComoLista( ), "Los valores no se conservaron" );
+    }
+
+    @Test
+    void testEmpaquetado( )
+    {
+        SandboxMapas empaquetado = SandboxMapas.crearEmpaquetado( );
+        for( int i = 0; i < cadenasSencillas.length; i++ )
+        {
+            empaquetado.agregarCadena( cadenasSencillas[ i ] );
+        }
+        assertEquals( cadenasOrdenadas.length, empaquetado.getCantidadCadenasDiferentes( ), "La cantidad de cadenas no es correcta" );
+        assertEquals( Arrays.asList( cadenasOrdenadas ), empaquetado.getValoresComoLista( ), "Los valores no son correctos" );
+        assertEquals( Arrays.asList( llavesInvertidas ), empaquetado.getLlavesComoListaInvertida( ), "Las llaves no son correctas" );
+        assertEquals( "ee", empaquetado.getUltima( ), "La última llave no es correcta" );
+
+        empaquetado.eliminarCadenaConValor( "Be" );
+        empaquetado.volverMayusculas( );
+        assertEquals( Arrays.asList( "EE", "DD", "CC", "BB", "AAA", "AA" ), empaquetado.getLlavesComoListaInvertida( ), "No se ajustaron correctamente las llaves a mayúsculas" );
+
+        empaquetado.reiniciarMapaCadenas( Arrays.asList( "año", "ώρα" ) );
+        assertTrue( empaquetado.compararValores( new String[]{ "ώρα", "año" } ), "No comparó correctamente los valores" );
+        assertEquals( 2, empaquetado.getLlaves( ).size( ), "La cantidad de llaves no es correcta" );
+    }
 }